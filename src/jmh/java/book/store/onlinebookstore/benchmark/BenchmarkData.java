@@ -0,0 +1,52 @@
+package book.store.onlinebookstore.benchmark;
+
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.model.CartItem;
+import book.store.onlinebookstore.model.Category;
+import book.store.onlinebookstore.model.ShoppingCart;
+import book.store.onlinebookstore.model.User;
+import java.math.BigDecimal;
+
+final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    static Book book(Long id, int categories) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Benchmark book " + id);
+        book.setAuthor("Benchmark author");
+        book.setIsbn("978-0-00-" + String.format("%06d", id) + "-0");
+        book.setPrice(BigDecimal.valueOf(1999 + id, 2));
+        book.setDescription("A book used to measure mapping and pricing");
+        for (long i = 1; i <= categories; i++) {
+            Category category = new Category();
+            category.setId(i);
+            category.setName("Category " + i);
+            book.getCategories().add(category);
+        }
+        return book;
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("benchmark@example.com");
+        user.setShippingAddress("Benchmark street 1");
+        return user;
+    }
+
+    static ShoppingCart shoppingCart(int items, int categoriesPerBook) {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.setId(1L);
+        shoppingCart.setUser(user());
+        for (long i = 1; i <= items; i++) {
+            CartItem cartItem = new CartItem();
+            cartItem.setId(i);
+            cartItem.setBook(book(i, categoriesPerBook));
+            cartItem.setQuantity((int) (i % 5) + 1);
+            shoppingCart.addCartItem(cartItem);
+        }
+        return shoppingCart;
+    }
+}
@@ -0,0 +1,45 @@
+package book.store.onlinebookstore.benchmark;
+
+import book.store.onlinebookstore.dto.book.BookSearchParameters;
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.repository.book.BookSpecificationBuilder;
+import book.store.onlinebookstore.repository.book.BookSpecificationProviderManager;
+import book.store.onlinebookstore.repository.book.spec.AuthorSpecificationProvider;
+import book.store.onlinebookstore.repository.book.spec.TitleSpecificationProvider;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSpecificationBuilderBenchmark {
+    private final BookSpecificationBuilder specificationBuilder = new BookSpecificationBuilder(
+            new BookSpecificationProviderManager(List.of(
+                    new TitleSpecificationProvider(), new AuthorSpecificationProvider())));
+    private final BookSearchParameters titlesAndAuthors = new BookSearchParameters(
+            new String[]{"Clean Code", "Refactoring"}, new String[]{"Robert Martin"}, null);
+    private final BookSearchParameters empty = new BookSearchParameters(null, null, null);
+
+    @Benchmark
+    public Specification<Book> buildTitlesAndAuthors() {
+        return specificationBuilder.build(titlesAndAuthors);
+    }
+
+    @Benchmark
+    public Specification<Book> buildEmpty() {
+        return specificationBuilder.build(empty);
+    }
+}
@@ -0,0 +1,72 @@
+package book.store.onlinebookstore.benchmark;
+
+import book.store.onlinebookstore.security.JwtUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "benchmarkSecretfsdgsvssdfgfvhdsvuh98ewhvjdshfvsfgsg";
+    private static final String USERNAME = "benchmark@example.com";
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 10_000);
+        ReflectionTestUtils.setField(jwtUtil, "expirationMinutes", 30);
+        ReflectionTestUtils.setField(jwtUtil, "expirationHours", 1);
+        token = jwtUtil.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return jwtUtil.isValidToken(token);
+    }
+
+    @Benchmark
+    public String getUsername() {
+        return jwtUtil.getUsername(token);
+    }
+
+    @Benchmark
+    public String authenticateRequest() {
+        return jwtUtil.verify(token).subject();
+    }
+
+    @Benchmark
+    public String authenticateRequestUncached(FreshToken freshToken) {
+        return jwtUtil.verify(freshToken.token).subject();
+    }
+
+    @State(Scope.Thread)
+    public static class FreshToken {
+        private String token;
+
+        @Setup(Level.Invocation)
+        public void setUp(JwtUtilBenchmark benchmark) {
+            token = benchmark.jwtUtil.generateToken(USERNAME + System.nanoTime());
+        }
+    }
+}
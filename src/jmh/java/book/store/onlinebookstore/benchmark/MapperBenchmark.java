@@ -0,0 +1,71 @@
+package book.store.onlinebookstore.benchmark;
+
+import book.store.onlinebookstore.dto.book.BookDto;
+import book.store.onlinebookstore.dto.order.item.OrderItemDto;
+import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import book.store.onlinebookstore.mapper.BookMapper;
+import book.store.onlinebookstore.mapper.BookMapperImpl;
+import book.store.onlinebookstore.mapper.CartItemMapperImpl;
+import book.store.onlinebookstore.mapper.OrderItemMapper;
+import book.store.onlinebookstore.mapper.OrderItemMapperImpl;
+import book.store.onlinebookstore.mapper.ShoppingCartMapper;
+import book.store.onlinebookstore.mapper.ShoppingCartMapperImpl;
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.model.CartItem;
+import book.store.onlinebookstore.model.OrderItem;
+import book.store.onlinebookstore.model.ShoppingCart;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"1", "10"})
+    private int categories;
+    @Param({"1", "50"})
+    private int cartItems;
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private final ShoppingCartMapper shoppingCartMapper =
+            new ShoppingCartMapperImpl(new CartItemMapperImpl());
+    private final OrderItemMapper orderItemMapper = new OrderItemMapperImpl();
+    private Book book;
+    private ShoppingCart shoppingCart;
+    private OrderItem orderItem;
+
+    @Setup
+    public void setUp() {
+        book = BenchmarkData.book(1L, categories);
+        shoppingCart = BenchmarkData.shoppingCart(cartItems, categories);
+        CartItem cartItem = shoppingCart.getCartItems().iterator().next();
+        orderItem = orderItemMapper.toOrderItem(cartItem);
+    }
+
+    @Benchmark
+    public BookDto bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public ShoppingCartDto shoppingCartToDto() {
+        return shoppingCartMapper.toShoppingCartDto(shoppingCart);
+    }
+
+    @Benchmark
+    public OrderItemDto orderItemToDto() {
+        return orderItemMapper.toDto(orderItem);
+    }
+}
@@ -0,0 +1,88 @@
+package book.store.onlinebookstore.benchmark;
+
+import book.store.onlinebookstore.dto.order.CreateOrderRequestDto;
+import book.store.onlinebookstore.dto.order.OrderDto;
+import book.store.onlinebookstore.mapper.OrderItemMapperImpl;
+import book.store.onlinebookstore.mapper.OrderMapperImpl;
+import book.store.onlinebookstore.mapper.OrderSummaryMapperImpl;
+import book.store.onlinebookstore.model.ShoppingCart;
+import book.store.onlinebookstore.model.User;
+import book.store.onlinebookstore.pricing.PricingEngine;
+import book.store.onlinebookstore.repository.KeysetCursorCodec;
+import book.store.onlinebookstore.repository.order.OrderIdempotencyKeyRepository;
+import book.store.onlinebookstore.repository.order.OrderOutboxRepository;
+import book.store.onlinebookstore.repository.order.OrderRepository;
+import book.store.onlinebookstore.repository.order.OrderSummaryRepository;
+import book.store.onlinebookstore.repository.order.item.OrderItemRepository;
+import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import book.store.onlinebookstore.repository.user.UserRepository;
+import book.store.onlinebookstore.service.InventoryService;
+import book.store.onlinebookstore.service.OrderService;
+import book.store.onlinebookstore.service.impl.OrderServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+    @Param({"1", "10", "100", "500"})
+    private int cartItems;
+    private final CreateOrderRequestDto requestDto =
+            new CreateOrderRequestDto("Benchmark street 1");
+    private OrderService orderService;
+
+    @Setup
+    public void setUp() {
+        ShoppingCart shoppingCart = BenchmarkData.shoppingCart(cartItems, 1);
+        User user = shoppingCart.getUser();
+        OrderItemMapperImpl orderItemMapper = new OrderItemMapperImpl();
+        orderService = new OrderServiceImpl(
+                stub(ShoppingCartRepository.class, Optional.of(shoppingCart)),
+                stub(UserRepository.class, Optional.of(user)),
+                stub(OrderRepository.class, null),
+                stub(OrderItemRepository.class, null),
+                stub(OrderIdempotencyKeyRepository.class, null),
+                new OrderMapperImpl(orderItemMapper),
+                orderItemMapper,
+                new KeysetCursorCodec(),
+                new PricingEngine(),
+                stub(InventoryService.class, null),
+                stub(OrderOutboxRepository.class, null),
+                null,
+                new ObjectMapper().findAndRegisterModules(),
+                stub(OrderSummaryRepository.class, null),
+                new OrderSummaryMapperImpl(),
+                null);
+    }
+
+    @Benchmark
+    public OrderDto placeOrder() {
+        return orderService.placeOrder(1L, null, requestDto);
+    }
+
+    private static <T> T stub(Class<T> repository, Object foundById) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(),
+                new Class<?>[]{repository}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> foundById;
+                    case "save" -> args[0];
+                    default -> null;
+                }));
+    }
+}
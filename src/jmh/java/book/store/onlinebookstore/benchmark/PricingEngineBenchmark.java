@@ -0,0 +1,51 @@
+package book.store.onlinebookstore.benchmark;
+
+import book.store.onlinebookstore.model.CartItem;
+import book.store.onlinebookstore.pricing.PriceBreakdown;
+import book.store.onlinebookstore.pricing.PricingEngine;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingEngineBenchmark {
+    @Param({"1", "10", "100", "500"})
+    private int lines;
+    private final PricingEngine pricingEngine = new PricingEngine();
+    private List<CartItem> cartItems;
+
+    @Setup
+    public void setUp() {
+        cartItems = List.copyOf(BenchmarkData.shoppingCart(lines, 0).getCartItems());
+    }
+
+    @Benchmark
+    public PriceBreakdown<CartItem> price() {
+        return pricingEngine.price(cartItems, cartItem -> cartItem.getBook().getPrice(),
+                CartItem::getQuantity);
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return cartItems.stream()
+                .map(cartItem -> cartItem.getBook().getPrice()
+                        .multiply(new BigDecimal(cartItem.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,145 @@
+package book.store.onlinebookstore.benchmark;
+
+import book.store.onlinebookstore.OnlineBookStoreApplication;
+import book.store.onlinebookstore.security.JwtUtil;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(WebTierLoadBenchmark.CLIENTS)
+public class WebTierLoadBenchmark {
+    static final int CLIENTS = 256;
+    private static final String CART_ITEM = "{\"bookId\": 1, \"quantity\": 1}";
+    private static final String ORDER = "{\"shippingAddress\": \"Load test street\"}";
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private JwtUtil jwtUtil;
+    private String baseUrl;
+    private final AtomicInteger users = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(OnlineBookStoreApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=" + env("LOAD_DB_URL", "jdbc:tc:mysql:8:///load"),
+                "--spring.datasource.username=" + env("LOAD_DB_USER", "test"),
+                "--spring.datasource.password=" + env("LOAD_DB_PASSWORD", "test"),
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret=benchmarkSecretfsdgsvssdfgfvhdsvuh98ewhvjdshfvsfgsg",
+                "--logging.level.root=WARN");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO roles (name) VALUES ('USER')");
+        for (int i = 1; i <= CLIENTS; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO users (id, email, password, first_name, last_name,
+                            shipping_address)
+                    VALUES (?, ?, 'unused', 'Load', 'Test', 'Load test street')""",
+                    i, email(i));
+            jdbcTemplate.update("""
+                    INSERT INTO users_roles (user_id, role_id)
+                    SELECT ?, id FROM roles WHERE name = 'USER'""", i);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO books (id, title, author, isbn, price)
+                VALUES (1, 'Load test book', 'Load test author', 'load-test-isbn', 10.00)""");
+        baseUrl = "http://localhost:"
+                + ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        jwtUtil = context.getBean(JwtUtil.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int addCartItem(Shopper shopper) {
+        return post(shopper, "/api/cart", CART_ITEM);
+    }
+
+    @Benchmark
+    public int placeOrder(Shopper shopper) {
+        post(shopper, "/api/cart", CART_ITEM);
+        return post(shopper, "/api/orders", ORDER);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static String email(int user) {
+        return "shopper" + user + "@example.com";
+    }
+
+    private int post(Shopper shopper, String path, String body) {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + shopper.token)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        return response.statusCode();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = client.send(request,
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(request.uri() + " returned "
+                        + response.statusCode() + ": " + response.body());
+            }
+            return response;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Shopper {
+        private String token;
+
+        @Setup(Level.Trial)
+        public void setUp(WebTierLoadBenchmark benchmark) {
+            token = benchmark.jwtUtil.generateToken(email(benchmark.users.incrementAndGet()));
+        }
+    }
+}
@@ -39,8 +39,11 @@ public class SecurityConfig {
                                 .requestMatchers("/api/auth/**",
                                         "/error",
                                         "/swagger-ui/**",
-                                        "/v3/api-docs/**")
+                                        "/v3/api-docs/**",
+                                        "/actuator/health")
                                 .permitAll()
+                                .requestMatchers("/actuator/prometheus")
+                                .hasRole("ADMIN")
                                 .anyRequest()
                                 .authenticated()
                 )
@@ -1,19 +1,30 @@
 package book.store.onlinebookstore.controller;
 
+import book.store.onlinebookstore.dto.book.BookCacheStatsDto;
 import book.store.onlinebookstore.dto.book.BookDto;
+import book.store.onlinebookstore.dto.book.BookExportFormat;
+import book.store.onlinebookstore.dto.book.BookImportResultDto;
 import book.store.onlinebookstore.dto.book.BookSearchParameters;
 import book.store.onlinebookstore.dto.book.CreateBookRequestDto;
 import book.store.onlinebookstore.dto.book.UpdateBookRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
+import book.store.onlinebookstore.service.BookExportService;
+import book.store.onlinebookstore.service.BookImportService;
 import book.store.onlinebookstore.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,7 +33,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -33,6 +46,8 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Book management", description = "Endpoints for managing books")
 public class BookController {
     private final BookService bookService;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER')")
@@ -49,10 +64,47 @@ public class BookController {
         return bookService.findAll(pageable);
     }
 
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Get all books after cursor",
+            description = """
+                    Get all books with keyset pagination, default: size = 5.
+                    Pass an empty 'after' for the first page, then 'nextCursor' of the response
+                    """)
+    public CursorPageDto<BookDto> getAllAfter(@RequestParam String after,
+                                              @PageableDefault(size = 5) Pageable pageable) {
+        return bookService.findAllAfter(after, pageable);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export all books",
+            description = """
+                    Stream every book with its category ids as NDJSON (default) or CSV
+                    (format=CSV), the CSV can be imported back""")
+    public void exportBooks(@RequestParam(defaultValue = "NDJSON") BookExportFormat format,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=books." + format.getExtension());
+        bookExportService.exportBooks(response.getOutputStream(), format);
+    }
+
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get book cache statistics",
+            description = "Hit ratio, load time and eviction counters of the book by id cache")
+    public BookCacheStatsDto getCacheStats() {
+        return bookService.getCacheStats();
+    }
+
     @GetMapping("/search")
     @PreAuthorize("hasRole('USER')")
     @Operation(summary = "Search books",
-            description = "Search books by title and author (titles=values&authors=values")
+            description = """
+                    Search books by title and author (titles=values&authors=values)
+                    and/or by free text over title, author, isbn and description (query=text).
+                    Results are ranked by relevance""")
     public List<BookDto> search(BookSearchParameters searchParameters, Pageable pageable) {
         return bookService.search(searchParameters, pageable);
     }
@@ -65,6 +117,18 @@ public class BookController {
         return bookService.save(bookDto);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import books",
+            description = """
+                    Stream CSV (header row, categoriesIds separated by ';') or NDJSON books.
+                    Books are inserted or updated by isbn, invalid rows are reported""")
+    public BookImportResultDto importBooks(InputStream body,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE)
+                                           MediaType contentType) {
+        return bookImportService.importBooks(body, contentType);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update book by id", description = "Update the book by its id number")
@@ -4,6 +4,7 @@ import book.store.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import book.store.onlinebookstore.dto.category.CategoryDto;
 import book.store.onlinebookstore.dto.category.CreateCategoryRequestDto;
 import book.store.onlinebookstore.dto.category.UpdateCategoryRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
 import book.store.onlinebookstore.service.BookService;
 import book.store.onlinebookstore.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +24,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -51,6 +53,17 @@ public class CategoryController {
         return categoryService.findAll(pageable);
     }
 
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Get all categories after cursor",
+            description = """
+                    Get all categories with keyset pagination.
+                    Pass an empty 'after' for the first page, then 'nextCursor' of the response
+                    """)
+    public CursorPageDto<CategoryDto> getAllAfter(@RequestParam String after, Pageable pageable) {
+        return categoryService.findAllAfter(after, pageable);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER')")
     @Operation(summary = "Get category by id", description = "Get the category by its id number")
@@ -67,6 +80,20 @@ public class CategoryController {
         return bookService.findBooksByCategoryId(id, pageable);
     }
 
+    @GetMapping(value = "/{id}/books", params = "after")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Get books by category by id after cursor",
+            description = """
+                    Get books by the category by its id number with keyset pagination.
+                    Pass an empty 'after' for the first page, then 'nextCursor' of the response
+                    """)
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryIdAfter(
+            @PathVariable @Positive Long id,
+            @RequestParam String after,
+            Pageable pageable) {
+        return bookService.findBooksByCategoryIdAfter(id, after, pageable);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update category by id",
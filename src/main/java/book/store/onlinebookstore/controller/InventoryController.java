@@ -0,0 +1,44 @@
+package book.store.onlinebookstore.controller;
+
+import book.store.onlinebookstore.dto.stock.BookStockDto;
+import book.store.onlinebookstore.dto.stock.UpdateBookStockRequestDto;
+import book.store.onlinebookstore.service.InventoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Validated
+@RequiredArgsConstructor
+@RequestMapping("/api/inventory")
+@Tag(name = "Inventory management", description = "Endpoints for managing book stock")
+public class InventoryController {
+    private final InventoryService inventoryService;
+
+    @GetMapping("/{bookId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get book stock",
+            description = "Get the quantity in stock of the book by its id")
+    public BookStockDto getStock(@PathVariable @Positive Long bookId) {
+        return inventoryService.getStock(bookId);
+    }
+
+    @PutMapping("/{bookId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Set book stock",
+            description = "Set the quantity in stock of the book, orders can't exceed it")
+    public BookStockDto setStock(@PathVariable @Positive Long bookId,
+                                 @RequestBody @Valid UpdateBookStockRequestDto requestDto) {
+        return inventoryService.setStock(bookId, requestDto.quantity());
+    }
+}
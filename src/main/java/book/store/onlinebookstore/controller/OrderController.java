@@ -1,18 +1,27 @@
 package book.store.onlinebookstore.controller;
 
+import book.store.onlinebookstore.dto.order.BulkOrderStatusUpdateDto;
+import book.store.onlinebookstore.dto.order.BulkUpdateOrderStatusRequestDto;
 import book.store.onlinebookstore.dto.order.CreateOrderRequestDto;
 import book.store.onlinebookstore.dto.order.OrderDto;
+import book.store.onlinebookstore.dto.order.OrderOutboxStatsDto;
+import book.store.onlinebookstore.dto.order.OrderStatusDto;
+import book.store.onlinebookstore.dto.order.OrderSummaryDto;
 import book.store.onlinebookstore.dto.order.UpdateOrderRequestDto;
 import book.store.onlinebookstore.dto.order.item.OrderItemDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
 import book.store.onlinebookstore.model.User;
 import book.store.onlinebookstore.service.OrderService;
+import book.store.onlinebookstore.service.OrderStatusService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,7 +32,9 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -34,6 +45,7 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Order management", description = "Endpoints for managing users orders")
 public class OrderController {
     private final OrderService orderService;
+    private final OrderStatusService orderStatusService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -41,12 +53,17 @@ public class OrderController {
     @Operation(summary = "Place an order based on your shopping cart",
             description = """
                                 Place an order based on your shopping cart, 
-                                then shopping cart is deleted
+                                then shopping cart is deleted.
+                                Retries with the same Idempotency-Key header
+                                return the order placed by the first request,
+                                a different body with the same key returns 422
                     """)
     public OrderDto placeOrder(@RequestBody @Valid CreateOrderRequestDto requestDto,
+                               @RequestHeader(name = "Idempotency-Key", required = false)
+                               @Size(max = 64) String idempotencyKey,
                                Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        return orderService.placeOrder(user.getId(), requestDto);
+        return orderService.placeOrder(user.getId(), idempotencyKey, requestDto);
     }
 
     @GetMapping
@@ -59,6 +76,38 @@ public class OrderController {
         return orderService.getOrders(user.getId(), pageable);
     }
 
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Get all orders after cursor",
+            description = """
+                    Get all orders for user with keyset pagination (newest first),
+                    default: size = 10.
+                    Pass an empty 'after' for the first page, then 'nextCursor' of the response
+                    """)
+    public CursorPageDto<OrderDto> getAllAfter(Authentication authentication,
+                                               @RequestParam String after,
+                                               @PageableDefault(size = 10) Pageable pageable) {
+        User user = (User) authentication.getPrincipal();
+        return orderService.getOrdersAfter(user.getId(), after, pageable);
+    }
+
+    @GetMapping("/summaries")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Get order summaries",
+            description = """
+                    Get date, status, total, item count and cover image of user orders,
+                    newest first, default: page = 0, size = 10, sort = orderId,desc.
+                    Only orderId can be used to sort.
+                    Items of an order are available by /api/orders/{orderId}/items
+                    """)
+    public List<OrderSummaryDto> getSummaries(Authentication authentication,
+                                              @PageableDefault(size = 10, sort = "orderId",
+                                                      direction = Sort.Direction.DESC)
+                                              Pageable pageable) {
+        User user = (User) authentication.getPrincipal();
+        return orderService.getOrderSummaries(user.getId(), pageable);
+    }
+
     @GetMapping("/{orderId}/items")
     @PreAuthorize("hasRole('USER')")
     @Operation(summary = "Get info by order",
@@ -83,9 +132,41 @@ public class OrderController {
     @PatchMapping("/{orderId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update order status",
-            description = "Update order status for order by id")
-    public OrderDto updateOrderStatusById(@PathVariable @Positive Long orderId,
-                                          @RequestBody @Valid UpdateOrderRequestDto requestDto) {
+            description = "Update order status for order by id, returns the new status")
+    public OrderStatusDto updateOrderStatusById(@PathVariable @Positive Long orderId,
+                                                @RequestBody @Valid
+                                                UpdateOrderRequestDto requestDto) {
+        return orderStatusService.updateOrderStatus(orderId, requestDto);
+    }
+
+    @PatchMapping(value = "/{orderId}", params = "expand=items")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update order status and get the order",
+            description = "Update order status for order by id, returns the order with items")
+    public OrderDto updateOrderStatusByIdWithItems(@PathVariable @Positive Long orderId,
+                                                   @RequestBody @Valid
+                                                   UpdateOrderRequestDto requestDto) {
         return orderService.updateOrderStatus(orderId, requestDto);
     }
+
+    @PatchMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update status of many orders",
+            description = """
+                    Update status for orders selected by ids or by a filter on current status
+                    and order date. Every order is checked against the allowed transitions,
+                    the result of each order is returned
+                    """)
+    public BulkOrderStatusUpdateDto updateOrderStatuses(
+            @RequestBody @Valid BulkUpdateOrderStatusRequestDto requestDto) {
+        return orderStatusService.updateOrderStatuses(requestDto);
+    }
+
+    @GetMapping("/outbox-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get order outbox statistics",
+            description = "Get pending events, relay lag, delivered and failed event counts")
+    public OrderOutboxStatsDto getOutboxStats() {
+        return orderService.getOutboxStats();
+    }
 }
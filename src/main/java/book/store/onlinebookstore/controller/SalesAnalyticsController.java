@@ -0,0 +1,84 @@
+package book.store.onlinebookstore.controller;
+
+import book.store.onlinebookstore.dto.analytics.AuthorRevenueDto;
+import book.store.onlinebookstore.dto.analytics.BookSalesDto;
+import book.store.onlinebookstore.dto.analytics.CategoryRevenueDto;
+import book.store.onlinebookstore.dto.analytics.DailyRevenueDto;
+import book.store.onlinebookstore.dto.analytics.SalesRollupStatusDto;
+import book.store.onlinebookstore.service.SalesAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Validated
+@RequiredArgsConstructor
+@RequestMapping("/api/analytics/sales")
+@Tag(name = "Sales analytics", description = "Endpoints for sales reports")
+public class SalesAnalyticsController {
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping("/daily")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get revenue by day",
+            description = "Get orders, sold books and revenue for every day between from and to")
+    public List<DailyRevenueDto> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesAnalyticsService.getDailyRevenue(from, to);
+    }
+
+    @GetMapping("/categories")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get revenue by category",
+            description = """
+                    Get sold books and revenue for every category between from and to.
+                    A book in several categories counts in each of them
+                    """)
+    public List<CategoryRevenueDto> getRevenueByCategory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesAnalyticsService.getRevenueByCategory(from, to);
+    }
+
+    @GetMapping("/authors")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get revenue by author",
+            description = "Get sold books and revenue for every author between from and to")
+    public List<AuthorRevenueDto> getRevenueByAuthor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesAnalyticsService.getRevenueByAuthor(from, to);
+    }
+
+    @GetMapping("/top-books")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get top books",
+            description = "Get books with the highest revenue between from and to, default: 10")
+    public List<BookSalesDto> getTopBooks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") @Positive @Max(100) int limit) {
+        return salesAnalyticsService.getTopBooks(from, to, limit);
+    }
+
+    @PostMapping("/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Refresh sales rollups",
+            description = "Add orders placed since the last refresh to the sales rollups")
+    public SalesRollupStatusDto refresh() {
+        return salesAnalyticsService.refresh();
+    }
+}
@@ -1,8 +1,10 @@
 package book.store.onlinebookstore.controller;
 
+import book.store.onlinebookstore.dto.cartitem.CartItemBatchRequestDto;
 import book.store.onlinebookstore.dto.cartitem.CreateCartItemRequestDto;
 import book.store.onlinebookstore.dto.cartitem.UpdateCartItemRequestDto;
 import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartSummaryDto;
 import book.store.onlinebookstore.service.ShoppingCartService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,7 +37,7 @@ public class ShoppingCartController {
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasRole('USER')")
     @Operation(summary = "Add a new book to shopping cart",
-            description = "Add a new book to shopping cart")
+            description = "Add a book to shopping cart, adding the quantity if it's already there")
     public ShoppingCartDto addCartItem(@RequestBody @Valid CreateCartItemRequestDto requestDto,
                                        Authentication authentication) {
         return shoppingCartService.addCartItem(requestDto, authentication);
@@ -49,6 +51,25 @@ public class ShoppingCartController {
         return shoppingCartService.getShoppingCart(authentication);
     }
 
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Get shopping cart summary",
+            description = "Get item count, total quantity and subtotal of shopping cart")
+    public ShoppingCartSummaryDto getShoppingCartSummary(Authentication authentication) {
+        return shoppingCartService.getShoppingCartSummary(authentication);
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Apply a batch of cart item operations",
+            description = "Add books, set quantities and remove books in one request")
+    public ShoppingCartDto applyCartItemOperations(
+            @RequestBody @Valid CartItemBatchRequestDto requestDto,
+            Authentication authentication) {
+        return shoppingCartService.applyCartItemOperations(authentication,
+                requestDto.operations());
+    }
+
     @PutMapping("/cart-items/{id}")
     @PreAuthorize("hasRole('USER')")
     @Operation(summary = "Update quantity of cart item",
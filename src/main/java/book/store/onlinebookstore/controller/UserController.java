@@ -0,0 +1,35 @@
+package book.store.onlinebookstore.controller;
+
+import book.store.onlinebookstore.dto.user.UpdateUserRolesRequestDto;
+import book.store.onlinebookstore.dto.user.UserRolesDto;
+import book.store.onlinebookstore.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Validated
+@RequiredArgsConstructor
+@RequestMapping("/api/users")
+@Tag(name = "User management", description = "Endpoints for managing users")
+public class UserController {
+    private final UserService userService;
+
+    @PutMapping("/{id}/roles")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update user roles",
+            description = "Replace the roles of the user by its id number")
+    public UserRolesDto updateRoles(@PathVariable @Positive Long id,
+                                    @RequestBody @Valid UpdateUserRolesRequestDto requestDto) {
+        return userService.updateRoles(id, requestDto);
+    }
+}
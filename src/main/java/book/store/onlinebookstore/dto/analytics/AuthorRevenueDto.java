@@ -0,0 +1,9 @@
+package book.store.onlinebookstore.dto.analytics;
+
+import java.math.BigDecimal;
+
+public record AuthorRevenueDto(
+        String author,
+        long quantity,
+        BigDecimal revenue) {
+}
@@ -0,0 +1,10 @@
+package book.store.onlinebookstore.dto.analytics;
+
+import java.math.BigDecimal;
+
+public record BookSalesDto(
+        Long bookId,
+        String title,
+        long quantity,
+        BigDecimal revenue) {
+}
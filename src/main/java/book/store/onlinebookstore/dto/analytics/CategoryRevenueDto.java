@@ -0,0 +1,10 @@
+package book.store.onlinebookstore.dto.analytics;
+
+import java.math.BigDecimal;
+
+public record CategoryRevenueDto(
+        Long categoryId,
+        String categoryName,
+        long quantity,
+        BigDecimal revenue) {
+}
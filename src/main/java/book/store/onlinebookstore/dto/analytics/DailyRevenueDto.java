@@ -0,0 +1,11 @@
+package book.store.onlinebookstore.dto.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenueDto(
+        LocalDate date,
+        long orderCount,
+        long quantity,
+        BigDecimal revenue) {
+}
@@ -0,0 +1,4 @@
+package book.store.onlinebookstore.dto.analytics;
+
+public record SalesRollupStatusDto(long processedSeq) {
+}
@@ -0,0 +1,14 @@
+package book.store.onlinebookstore.dto.book;
+
+public record BookCacheStatsDto(
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long loadCount,
+        long loadFailureCount,
+        double averageLoadMillis,
+        long evictionCount,
+        long evictionWeight
+) {
+}
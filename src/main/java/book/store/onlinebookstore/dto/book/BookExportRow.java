@@ -0,0 +1,14 @@
+package book.store.onlinebookstore.dto.book;
+
+import java.math.BigDecimal;
+
+public record BookExportRow(
+        Long id,
+        String title,
+        String author,
+        String isbn,
+        BigDecimal price,
+        String description,
+        String coverImage,
+        Long categoryId) {
+}
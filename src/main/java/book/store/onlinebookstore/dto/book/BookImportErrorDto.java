@@ -0,0 +1,4 @@
+package book.store.onlinebookstore.dto.book;
+
+public record BookImportErrorDto(long row, String isbn, String message) {
+}
@@ -0,0 +1,13 @@
+package book.store.onlinebookstore.dto.book;
+
+import java.util.List;
+
+public record BookImportResultDto(
+        long rows,
+        long inserted,
+        long updated,
+        long failed,
+        long elapsedMillis,
+        long rowsPerSecond,
+        List<BookImportErrorDto> errors) {
+}
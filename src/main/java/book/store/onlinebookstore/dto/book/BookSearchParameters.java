@@ -1,5 +1,5 @@
 package book.store.onlinebookstore.dto.book;
 
-public record BookSearchParameters(String[] titles, String[] authors) {
+public record BookSearchParameters(String[] titles, String[] authors, String query) {
 
 }
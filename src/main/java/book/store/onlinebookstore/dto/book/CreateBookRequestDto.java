@@ -13,7 +13,7 @@ public record CreateBookRequestDto(
         @NotBlank String author,
         @NotBlank @Pattern(regexp = "^(?=(?:\\D*\\d){10}(?:(?:\\D*\\d){3})?$)[\\d-]+$") String isbn,
         @NotNull @Positive BigDecimal price,
-        @NotEmpty Set<@Positive Long> categoriesIds,
+        @NotEmpty Set<@NotNull @Positive Long> categoriesIds,
         String description,
         String coverImage) {
 
@@ -0,0 +1,14 @@
+package book.store.onlinebookstore.dto.cartitem;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CartItemBatchRequestDto(
+        @NotEmpty
+        @Size(max = 500)
+        List<@NotNull @Valid CartItemOperationDto> operations
+) {
+}
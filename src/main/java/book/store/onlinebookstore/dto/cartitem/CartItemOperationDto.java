@@ -0,0 +1,23 @@
+package book.store.onlinebookstore.dto.cartitem;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record CartItemOperationDto(
+        @NotNull
+        Type type,
+
+        @NotNull
+        @Positive
+        Long bookId,
+
+        @PositiveOrZero
+        Integer quantity
+) {
+    public enum Type {
+        ADD,
+        SET_QUANTITY,
+        REMOVE
+    }
+}
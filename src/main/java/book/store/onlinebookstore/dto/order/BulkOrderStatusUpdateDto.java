@@ -0,0 +1,10 @@
+package book.store.onlinebookstore.dto.order;
+
+import book.store.onlinebookstore.model.Order.OrderStatus;
+import java.util.List;
+
+public record BulkOrderStatusUpdateDto(
+        OrderStatus status,
+        int updated,
+        List<OrderStatusUpdateResultDto> results) {
+}
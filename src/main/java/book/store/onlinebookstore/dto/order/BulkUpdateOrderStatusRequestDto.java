@@ -0,0 +1,22 @@
+package book.store.onlinebookstore.dto.order;
+
+import book.store.onlinebookstore.model.Order.OrderStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkUpdateOrderStatusRequestDto(
+        @NotNull
+        OrderStatus status,
+        @Size(min = 1, max = 10000)
+        List<@NotNull @Positive Long> ids,
+        @Valid
+        OrderStatusFilterDto filter) {
+    @AssertTrue(message = "must set either ids or filter")
+    public boolean isSelectionValid() {
+        return (ids == null) != (filter == null);
+    }
+}
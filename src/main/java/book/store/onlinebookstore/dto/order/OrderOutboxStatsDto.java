@@ -0,0 +1,12 @@
+package book.store.onlinebookstore.dto.order;
+
+public record OrderOutboxStatsDto(
+        long pending,
+        long lagMillis,
+        long delivered,
+        long failed,
+        long abandoned,
+        long backpressured,
+        int inFlightBatches
+) {
+}
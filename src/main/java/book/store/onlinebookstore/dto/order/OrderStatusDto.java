@@ -0,0 +1,8 @@
+package book.store.onlinebookstore.dto.order;
+
+import book.store.onlinebookstore.model.Order.OrderStatus;
+
+public record OrderStatusDto(
+        Long id,
+        OrderStatus status) {
+}
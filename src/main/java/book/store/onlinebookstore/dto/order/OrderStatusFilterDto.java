@@ -0,0 +1,11 @@
+package book.store.onlinebookstore.dto.order;
+
+import book.store.onlinebookstore.model.Order.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public record OrderStatusFilterDto(
+        @NotNull
+        OrderStatus status,
+        LocalDateTime placedBefore) {
+}
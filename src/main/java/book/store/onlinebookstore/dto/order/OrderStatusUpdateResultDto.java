@@ -0,0 +1,15 @@
+package book.store.onlinebookstore.dto.order;
+
+import book.store.onlinebookstore.model.Order.OrderStatus;
+
+public record OrderStatusUpdateResultDto(
+        Long orderId,
+        Outcome outcome,
+        OrderStatus previousStatus) {
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        INVALID_TRANSITION,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,14 @@
+package book.store.onlinebookstore.dto.order;
+
+import book.store.onlinebookstore.model.Order.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderSummaryDto(
+        Long id,
+        LocalDateTime orderDate,
+        OrderStatus status,
+        BigDecimal total,
+        int itemCount,
+        String coverImage) {
+}
@@ -1,9 +1,9 @@
 package book.store.onlinebookstore.dto.order;
 
 import book.store.onlinebookstore.model.Order.OrderStatus;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 public record UpdateOrderRequestDto(
-        @NotBlank
+        @NotNull
         OrderStatus status) {
 }
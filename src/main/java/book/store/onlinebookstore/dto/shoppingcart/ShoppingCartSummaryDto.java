@@ -0,0 +1,7 @@
+package book.store.onlinebookstore.dto.shoppingcart;
+
+import java.math.BigDecimal;
+
+public record ShoppingCartSummaryDto(Long id, int itemCount, int totalQuantity,
+                                     BigDecimal subtotal) {
+}
@@ -0,0 +1,4 @@
+package book.store.onlinebookstore.dto.stock;
+
+public record BookStockDto(Long bookId, int quantity) {
+}
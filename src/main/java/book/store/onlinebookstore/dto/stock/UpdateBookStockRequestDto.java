@@ -0,0 +1,7 @@
+package book.store.onlinebookstore.dto.stock;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record UpdateBookStockRequestDto(@NotNull @PositiveOrZero Integer quantity) {
+}
@@ -0,0 +1,11 @@
+package book.store.onlinebookstore.dto.user;
+
+import book.store.onlinebookstore.model.Role;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.Set;
+
+public record UpdateUserRolesRequestDto(
+        @NotEmpty Set<Role.@NotNull RoleName> roles
+) {
+}
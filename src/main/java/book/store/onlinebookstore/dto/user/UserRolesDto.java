@@ -0,0 +1,11 @@
+package book.store.onlinebookstore.dto.user;
+
+import book.store.onlinebookstore.model.Role;
+import java.util.Set;
+
+public record UserRolesDto(
+        Long id,
+        String email,
+        Set<Role.RoleName> roles
+) {
+}
@@ -0,0 +1,7 @@
+package book.store.onlinebookstore.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
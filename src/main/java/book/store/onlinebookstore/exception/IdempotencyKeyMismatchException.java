@@ -0,0 +1,7 @@
+package book.store.onlinebookstore.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package book.store.onlinebookstore.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
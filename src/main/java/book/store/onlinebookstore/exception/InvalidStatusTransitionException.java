@@ -0,0 +1,7 @@
+package book.store.onlinebookstore.exception;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package book.store.onlinebookstore.mapper;
+
+import book.store.onlinebookstore.dto.order.OrderSummaryDto;
+import book.store.onlinebookstore.model.Order;
+import book.store.onlinebookstore.model.OrderSummary;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValueCheckStrategy;
+
+@Mapper(
+        componentModel = "spring",
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+)
+public interface OrderSummaryMapper {
+    @Mapping(source = "orderId", target = "id")
+    OrderSummaryDto toDto(OrderSummary orderSummary);
+
+    @Mapping(source = "id", target = "orderId")
+    @Mapping(source = "user.id", target = "userId")
+    @Mapping(target = "itemCount", ignore = true)
+    @Mapping(target = "coverImage", ignore = true)
+    OrderSummary toOrderSummary(Order order);
+
+    @AfterMapping
+    default void setItemsSummary(@MappingTarget OrderSummary orderSummary, Order order) {
+        orderSummary.setItemCount(order.getOrderItems().size());
+        order.getOrderItems().stream()
+                .findFirst()
+                .ifPresent(item -> orderSummary.setCoverImage(item.getBook().getCoverImage()));
+    }
+}
@@ -0,0 +1,30 @@
+package book.store.onlinebookstore.mapper;
+
+import book.store.onlinebookstore.dto.analytics.AuthorRevenueDto;
+import book.store.onlinebookstore.dto.analytics.BookSalesDto;
+import book.store.onlinebookstore.dto.analytics.CategoryRevenueDto;
+import book.store.onlinebookstore.dto.analytics.DailyRevenueDto;
+import book.store.onlinebookstore.repository.analytics.AuthorSalesView;
+import book.store.onlinebookstore.repository.analytics.BookSalesView;
+import book.store.onlinebookstore.repository.analytics.CategorySalesView;
+import book.store.onlinebookstore.repository.analytics.DailySalesView;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.NullValueCheckStrategy;
+
+@Mapper(
+        componentModel = "spring",
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+)
+public interface SalesReportMapper {
+    @Mapping(source = "saleDate", target = "date")
+    DailyRevenueDto toDto(DailySalesView view);
+
+    CategoryRevenueDto toDto(CategorySalesView view);
+
+    AuthorRevenueDto toDto(AuthorSalesView view);
+
+    BookSalesDto toDto(BookSalesView view);
+}
@@ -0,0 +1,91 @@
+package book.store.onlinebookstore.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "http.server.requests.sql.statements";
+    public static final String HEADER_NAME = "X-Sql-Statement-Count";
+    public static final String COUNT_ATTRIBUTE = SqlStatementCountFilter.class.getName()
+            + ".count";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeader;
+    private final int repeatedStatementThreshold;
+
+    public SqlStatementCountFilter(SqlStatementCounter statementCounter,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${metrics.sql.response-header:false}")
+                                   boolean responseHeader,
+                                   @Value("${metrics.sql.repeated-statement-threshold:10}")
+                                   int repeatedStatementThreshold) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.responseHeader = responseHeader;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, responseHeader
+                    ? new StatementCountHeaderWriter(response)
+                    : response);
+        } finally {
+            SqlStatementStats stats = statementCounter.stop();
+            record(request, stats);
+            if (responseHeader && !response.isCommitted()) {
+                response.setHeader(HEADER_NAME, String.valueOf(stats.total()));
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+        request.setAttribute(COUNT_ATTRIBUTE, stats.total());
+        DistributionSummary.builder(METRIC_NAME)
+                .description("JDBC statements run by one HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.total());
+        if (stats.mostRepeatedCount() >= repeatedStatementThreshold) {
+            log.warn("Possible N+1 in {} {}: the same statement ran {} times: {}",
+                    request.getMethod(), uri, stats.mostRepeatedCount(), stats.mostRepeated());
+        }
+    }
+
+    private class StatementCountHeaderWriter extends OnCommittedResponseWrapper {
+        StatementCountHeaderWriter(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(HEADER_NAME, String.valueOf(statementCounter.count()));
+        }
+    }
+}
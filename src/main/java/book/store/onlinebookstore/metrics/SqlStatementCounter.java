@@ -0,0 +1,43 @@
+package book.store.onlinebookstore.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SqlStatementCounter {
+    private final ThreadLocal<Map<String, Integer>> statements = new ThreadLocal<>();
+
+    public void start() {
+        statements.set(new HashMap<>());
+    }
+
+    public int count() {
+        Map<String, Integer> counts = statements.get();
+        return counts == null ? 0 : counts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public SqlStatementStats stop() {
+        Map<String, Integer> counts = statements.get();
+        statements.remove();
+        if (counts == null || counts.isEmpty()) {
+            return SqlStatementStats.EMPTY;
+        }
+        int total = 0;
+        Map.Entry<String, Integer> mostRepeated = null;
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            total += count.getValue();
+            if (mostRepeated == null || count.getValue() > mostRepeated.getValue()) {
+                mostRepeated = count;
+            }
+        }
+        return new SqlStatementStats(total, mostRepeated.getKey(), mostRepeated.getValue());
+    }
+
+    public void record(String sql) {
+        Map<String, Integer> counts = statements.get();
+        if (counts != null) {
+            counts.merge(sql, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package book.store.onlinebookstore.metrics;
+
+public record SqlStatementStats(int total, String mostRepeated, int mostRepeatedCount) {
+    public static final SqlStatementStats EMPTY = new SqlStatementStats(0, null, 0);
+}
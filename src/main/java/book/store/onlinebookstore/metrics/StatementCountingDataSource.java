@@ -0,0 +1,62 @@
+package book.store.onlinebookstore.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery",
+            "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private final SqlStatementCounter statementCounter;
+
+    public StatementCountingDataSource(DataSource targetDataSource,
+                                       SqlStatementCounter statementCounter) {
+        super(targetDataSource);
+        this.statementCounter = statementCounter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return count(Connection.class, super.getConnection(), PREPARE_METHODS);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return count(Connection.class, super.getConnection(username, password), PREPARE_METHODS);
+    }
+
+    private <T> T count(Class<T> type, T target, Set<String> sqlMethods) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+                new Class<?>[] {type}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if (sqlMethods.contains(method.getName())
+                            && args != null && args[0] instanceof String sql) {
+                        statementCounter.record(sql);
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    if (method.getName().equals("createStatement")) {
+                        return count(Statement.class, (Statement) result, EXECUTE_METHODS);
+                    }
+                    return result;
+                }));
+    }
+}
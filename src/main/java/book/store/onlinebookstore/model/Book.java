@@ -11,12 +11,15 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -26,8 +29,13 @@ import org.hibernate.annotations.Where;
 @Where(clause = "is_deleted=false")
 @Data
 public class Book {
+    public static final String CATEGORIES_CACHE_REGION = "book-categories";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "books_id")
+    @TableGenerator(name = "books_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "books", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -45,6 +53,7 @@ public class Book {
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CATEGORIES_CACHE_REGION)
     @JoinTable(
             name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
@@ -13,8 +13,10 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import lombok.Data;
@@ -30,7 +32,10 @@ import org.hibernate.annotations.Where;
 @Data
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id")
+    @TableGenerator(name = "orders_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "orders", allocationSize = 50)
     private Long id;
 
     @ToString.Exclude
@@ -60,11 +65,37 @@ public class Order {
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
 
+    @Column(name = "rollup_reversal_pending", nullable = false,
+            insertable = false, updatable = false)
+    private boolean rollupReversalPending;
+
+    @Column(name = "rollup_seq", insertable = false, updatable = false)
+    private Long rollupSeq;
+
     public enum OrderStatus {
         PENDING,
         PROCESSING,
         SHIPPED,
         DELIVERED,
-        CANCELLED
+        CANCELLED;
+
+        public boolean canTransitionTo(OrderStatus target) {
+            return switch (this) {
+                case PENDING -> target == PROCESSING || target == CANCELLED;
+                case PROCESSING -> target == SHIPPED || target == CANCELLED;
+                case SHIPPED -> target == DELIVERED;
+                case DELIVERED, CANCELLED -> false;
+            };
+        }
+
+        public Set<OrderStatus> getAllowedSources() {
+            Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            for (OrderStatus source : values()) {
+                if (source.canTransitionTo(this)) {
+                    sources.add(source);
+                }
+            }
+            return sources;
+        }
     }
 }
@@ -0,0 +1,41 @@
+package book.store.onlinebookstore.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "order_idempotency_keys")
+@Data
+public class OrderIdempotencyKey {
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "payload_hash", length = 64)
+    private String payloadHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Column(name = "idempotency_key", nullable = false, length = 64)
+        private String idempotencyKey;
+    }
+}
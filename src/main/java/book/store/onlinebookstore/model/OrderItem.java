@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.math.BigDecimal;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -23,7 +24,10 @@ import org.hibernate.annotations.Where;
 @Data
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_items_id")
+    @TableGenerator(name = "order_items_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "order_items", allocationSize = 50)
     private Long id;
 
     @ToString.Exclude
@@ -46,4 +50,9 @@ public class OrderItem {
 
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
+
+    @EqualsAndHashCode.Include
+    private Long bookId() {
+        return book == null ? null : book.getId();
+    }
 }
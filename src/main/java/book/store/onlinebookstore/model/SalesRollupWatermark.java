@@ -0,0 +1,21 @@
+package book.store.onlinebookstore.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name = "sales_rollup_watermarks")
+@Data
+public class SalesRollupWatermark {
+    public static final String ORDERS = "orders";
+
+    @Id
+    @Column(length = 40)
+    private String name;
+
+    @Column(name = "processed_seq", nullable = false)
+    private long processedSeq;
+}
@@ -1,6 +1,7 @@
 package book.store.onlinebookstore.model;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -11,6 +12,7 @@ import jakarta.persistence.MapsId;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import java.math.BigDecimal;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import lombok.Data;
@@ -37,6 +39,18 @@ public class ShoppingCart {
     @OneToMany(mappedBy = "shoppingCart", orphanRemoval = true, cascade = CascadeType.ALL)
     private Set<CartItem> cartItems = new LinkedHashSet<>();
 
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false, updatable = false)
+    private int itemCount;
+
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false, updatable = false)
+    private int totalQuantity;
+
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false, updatable = false)
+    private BigDecimal subtotal = BigDecimal.ZERO;
+
     public void addCartItem(CartItem cartItem) {
         cartItems.add(cartItem);
         cartItem.setShoppingCart(this);
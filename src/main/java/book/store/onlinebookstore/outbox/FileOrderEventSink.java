@@ -0,0 +1,43 @@
+package book.store.onlinebookstore.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty("outbox.sink.file.path")
+public class FileOrderEventSink implements OrderEventSink {
+    private final Path path;
+    private final ObjectWriter writer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileOrderEventSink(@Value("${outbox.sink.file.path}") Path path,
+                              ObjectMapper objectMapper) {
+        this.path = path;
+        this.writer = objectMapper.writerFor(OrderEvent.class);
+    }
+
+    @Override
+    public void send(List<OrderEvent> events) throws IOException {
+        lock.lock();
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OrderEvent event : events) {
+                out.write(writer.writeValueAsString(event));
+                out.newLine();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
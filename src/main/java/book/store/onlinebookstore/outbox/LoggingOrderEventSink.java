@@ -0,0 +1,15 @@
+package book.store.onlinebookstore.outbox;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoggingOrderEventSink implements OrderEventSink {
+    @Override
+    public void send(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            log.info("Order event {} {} for order {}: {}", event.id(), event.type(),
+                    event.orderId(), event.payload());
+        }
+    }
+}
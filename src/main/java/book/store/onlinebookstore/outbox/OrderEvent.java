@@ -0,0 +1,7 @@
+package book.store.onlinebookstore.outbox;
+
+import java.time.LocalDateTime;
+
+public record OrderEvent(Long id, Long orderId, String type, String payload,
+                         LocalDateTime createdAt) {
+}
@@ -0,0 +1,8 @@
+package book.store.onlinebookstore.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface OrderEventSink {
+    void send(List<OrderEvent> events) throws IOException;
+}
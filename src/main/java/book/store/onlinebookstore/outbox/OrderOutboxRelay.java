@@ -0,0 +1,243 @@
+package book.store.onlinebookstore.outbox;
+
+import book.store.onlinebookstore.dto.order.OrderOutboxStatsDto;
+import book.store.onlinebookstore.model.OrderOutboxEvent;
+import book.store.onlinebookstore.repository.order.OrderOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+public class OrderOutboxRelay implements MeterBinder {
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final OrderOutboxRepository outboxRepository;
+    private final List<OrderEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final Semaphore inFlightBatches;
+    private final int maxInFlightBatches;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+    private final Duration maxRetryDelay;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final AtomicLong backpressured = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldestCreatedAt = new AtomicReference<>();
+
+    public OrderOutboxRelay(OrderOutboxRepository outboxRepository,
+                            List<OrderEventSink> sinks,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${outbox.relay.threads:4}") int threads,
+                            @Value("${outbox.relay.max-in-flight-batches:4}")
+                            int maxInFlightBatches,
+                            @Value("${outbox.relay.batch-size:100}") int batchSize,
+                            @Value("${outbox.relay.retry-delay:PT30S}") Duration retryDelay,
+                            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.relay.max-retry-delay:PT1H}")
+                            Duration maxRetryDelay,
+                            Environment environment) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks.isEmpty() ? List.of(new LoggingOrderEventSink()) : sinks;
+        if (sinks.isEmpty()) {
+            log.info("No order event sink is configured, order events will be logged");
+        }
+        this.transactionTemplate = transactionTemplate;
+        this.executor = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("outbox-relay-")
+                : Executors.newFixedThreadPool(threads);
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.maxAttempts = maxAttempts;
+        this.maxRetryDelay = maxRetryDelay;
+    }
+
+    @Scheduled(initialDelayString = "${outbox.relay.poll-interval:PT1S}",
+            fixedDelayString = "${outbox.relay.poll-interval:PT1S}")
+    public void poll() {
+        refreshBacklog();
+        List<OrderOutboxEvent> batch;
+        do {
+            if (!inFlightBatches.tryAcquire()) {
+                backpressured.incrementAndGet();
+                return;
+            }
+            try {
+                batch = claim();
+            } catch (RuntimeException e) {
+                inFlightBatches.release();
+                throw e;
+            }
+            if (batch.isEmpty()) {
+                inFlightBatches.release();
+                return;
+            }
+            List<OrderOutboxEvent> claimed = batch;
+            executor.execute(() -> {
+                try {
+                    deliver(claimed);
+                } finally {
+                    inFlightBatches.release();
+                }
+            });
+        } while (batch.size() == batchSize);
+    }
+
+    public int drain() {
+        int drained = 0;
+        List<OrderOutboxEvent> batch = claim();
+        while (!batch.isEmpty() && deliver(batch)) {
+            drained += batch.size();
+            batch = claim();
+        }
+        return drained;
+    }
+
+    public OrderOutboxStatsDto stats() {
+        refreshBacklog();
+        return new OrderOutboxStatsDto(
+                pending.get(),
+                lagMillis(),
+                delivered.get(),
+                failed.get(),
+                abandoned.get(),
+                backpressured.get(),
+                inFlightBatches());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Order events waiting for delivery")
+                .register(registry);
+        Gauge.builder("outbox.lag", this, OrderOutboxRelay::lagMillis)
+                .description("Age of the oldest undelivered order event")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("outbox.batches.in.flight", this, OrderOutboxRelay::inFlightBatches)
+                .register(registry);
+        FunctionCounter.builder("outbox.events.delivered", delivered, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("outbox.events.failed", failed, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("outbox.events.abandoned", abandoned, AtomicLong::get)
+                .description("Order events marked as failed after their last attempt")
+                .register(registry);
+        FunctionCounter.builder("outbox.polls.backpressured", backpressured, AtomicLong::get)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void refreshBacklog() {
+        List<LocalDateTime> oldest = outboxRepository.findCreatedAtByStatus(
+                OrderOutboxEvent.Status.PENDING, PageRequest.ofSize(1));
+        oldestCreatedAt.set(oldest.isEmpty() ? null : oldest.get(0));
+        pending.set(oldest.isEmpty()
+                ? 0
+                : outboxRepository.countByStatus(OrderOutboxEvent.Status.PENDING));
+    }
+
+    private long lagMillis() {
+        LocalDateTime oldest = oldestCreatedAt.get();
+        return oldest == null
+                ? 0L
+                : Math.max(Duration.between(oldest, LocalDateTime.now()).toMillis(), 0L);
+    }
+
+    private int inFlightBatches() {
+        return maxInFlightBatches - inFlightBatches.availablePermits();
+    }
+
+    private List<OrderOutboxEvent> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OrderOutboxEvent> batch = outboxRepository.findDueForUpdate(
+                    OrderOutboxEvent.Status.PENDING, now, PageRequest.ofSize(batchSize));
+            if (!batch.isEmpty()) {
+                outboxRepository.lease(batch.stream().map(OrderOutboxEvent::getId).toList(),
+                        now.plus(retryDelay));
+            }
+            return batch;
+        });
+    }
+
+    private boolean deliver(List<OrderOutboxEvent> batch) {
+        List<OrderEvent> events = batch.stream()
+                .map(event -> new OrderEvent(event.getId(), event.getOrderId(),
+                        event.getEventType().name(), event.getPayload(), event.getCreatedAt()))
+                .toList();
+        try {
+            for (OrderEventSink sink : sinks) {
+                sink.send(events);
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.addAndGet(events.size());
+            log.warn("Can't deliver {} order events, they will be retried with backoff",
+                    events.size(), e);
+            scheduleRetry(batch);
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository
+                .deleteAllByIdInBatch(events.stream().map(OrderEvent::id).toList()));
+        delivered.addAndGet(events.size());
+        return true;
+    }
+
+    private void scheduleRetry(List<OrderOutboxEvent> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, List<Long>> idsByAttempts = batch.stream()
+                .collect(Collectors.groupingBy(event -> event.getAttempts() + 1, TreeMap::new,
+                        Collectors.mapping(OrderOutboxEvent::getId, Collectors.toList())));
+        transactionTemplate.executeWithoutResult(status -> idsByAttempts.forEach(
+                (attempts, ids) -> {
+                    if (attempts >= maxAttempts) {
+                        outboxRepository.updateStatus(ids, OrderOutboxEvent.Status.FAILED);
+                        abandoned.addAndGet(ids.size());
+                        log.error("Order events {} failed after {} attempts", ids, attempts);
+                    } else {
+                        outboxRepository.reschedule(ids, now.plus(backoff(attempts)));
+                    }
+                }));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_SHIFT));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+}
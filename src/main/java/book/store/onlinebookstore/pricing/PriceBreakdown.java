@@ -0,0 +1,7 @@
+package book.store.onlinebookstore.pricing;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record PriceBreakdown<T>(List<PricedLine<T>> lines, BigDecimal total) {
+}
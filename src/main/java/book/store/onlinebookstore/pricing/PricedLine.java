@@ -0,0 +1,6 @@
+package book.store.onlinebookstore.pricing;
+
+import java.math.BigDecimal;
+
+public record PricedLine<T>(T item, BigDecimal total) {
+}
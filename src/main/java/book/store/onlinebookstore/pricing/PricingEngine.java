@@ -0,0 +1,34 @@
+package book.store.onlinebookstore.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PricingEngine {
+    public static final int SCALE = 2;
+    public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+    private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(SCALE);
+
+    public BigDecimal lineTotal(BigDecimal unitPrice, int quantity) {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity)).setScale(SCALE, ROUNDING_MODE);
+    }
+
+    public <T> PriceBreakdown<T> price(Collection<T> items, Function<T, BigDecimal> unitPrice,
+                                       ToIntFunction<T> quantity) {
+        List<PricedLine<T>> lines = new ArrayList<>(items.size());
+        BigDecimal total = ZERO;
+        for (T item : items) {
+            BigDecimal lineTotal = lineTotal(unitPrice.apply(item), quantity.applyAsInt(item));
+            lines.add(new PricedLine<>(item, lineTotal));
+            total = total.add(lineTotal);
+        }
+        return new PriceBreakdown<>(Collections.unmodifiableList(lines), total);
+    }
+}
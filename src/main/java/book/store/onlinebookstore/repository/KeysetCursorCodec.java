@@ -0,0 +1,114 @@
+package book.store.onlinebookstore.repository;
+
+import book.store.onlinebookstore.exception.InvalidCursorException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KeysetCursorCodec {
+    private static final String ID_PROPERTY = "id";
+    private static final char STRING = 'S';
+    private static final char LONG = 'L';
+    private static final char INTEGER = 'I';
+    private static final char DECIMAL = 'D';
+    private static final char DATE_TIME = 'T';
+
+    public Sort resolveSort(Pageable pageable, Set<String> sortableProperties, Sort defaultSort) {
+        Sort sort = pageable.getSortOr(defaultSort);
+        for (Sort.Order order : sort) {
+            if (!sortableProperties.contains(order.getProperty())) {
+                throw new InvalidCursorException("Can't use cursor pagination sorted by "
+                        + order.getProperty());
+            }
+        }
+        return sort.getOrderFor(ID_PROPERTY) == null
+                ? sort.and(Sort.by(ID_PROPERTY))
+                : sort;
+    }
+
+    public ScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            int size = in.readUnsignedByte();
+            for (int i = 0; i < size; i++) {
+                String property = in.readUTF();
+                keys.put(property, readValue(in.readChar(), in.readUTF()));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor " + cursor, e);
+        }
+        for (Sort.Order order : sort) {
+            if (!keys.containsKey(order.getProperty())) {
+                throw new InvalidCursorException("Cursor doesn't match sort by "
+                        + order.getProperty());
+            }
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public String encode(Window<?> window) {
+        if (window.isEmpty() || !window.hasNext()) {
+            return null;
+        }
+        KeysetScrollPosition position = (KeysetScrollPosition) window
+                .positionAt(window.size() - 1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(position.getKeys().size());
+            for (Map.Entry<String, Object> key : position.getKeys().entrySet()) {
+                out.writeUTF(key.getKey());
+                writeValue(out, key.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't encode cursor", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeChar(STRING);
+        } else if (value instanceof Long) {
+            out.writeChar(LONG);
+        } else if (value instanceof Integer) {
+            out.writeChar(INTEGER);
+        } else if (value instanceof BigDecimal) {
+            out.writeChar(DECIMAL);
+        } else if (value instanceof LocalDateTime) {
+            out.writeChar(DATE_TIME);
+        } else {
+            throw new IllegalStateException("Unsupported cursor key type " + value);
+        }
+        out.writeUTF(value.toString());
+    }
+
+    private Object readValue(char type, String value) {
+        return switch (type) {
+            case STRING -> value;
+            case LONG -> Long.valueOf(value);
+            case INTEGER -> Integer.valueOf(value);
+            case DECIMAL -> new BigDecimal(value);
+            case DATE_TIME -> LocalDateTime.parse(value);
+            default -> throw new IllegalArgumentException("Unknown cursor key type " + type);
+        };
+    }
+}
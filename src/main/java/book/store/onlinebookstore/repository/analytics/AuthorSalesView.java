@@ -0,0 +1,11 @@
+package book.store.onlinebookstore.repository.analytics;
+
+import java.math.BigDecimal;
+
+public interface AuthorSalesView {
+    String getAuthor();
+
+    Long getQuantity();
+
+    BigDecimal getRevenue();
+}
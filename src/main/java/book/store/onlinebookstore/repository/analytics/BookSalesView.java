@@ -0,0 +1,13 @@
+package book.store.onlinebookstore.repository.analytics;
+
+import java.math.BigDecimal;
+
+public interface BookSalesView {
+    Long getBookId();
+
+    String getTitle();
+
+    Long getQuantity();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,13 @@
+package book.store.onlinebookstore.repository.analytics;
+
+import java.math.BigDecimal;
+
+public interface CategorySalesView {
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Long getQuantity();
+
+    BigDecimal getRevenue();
+}
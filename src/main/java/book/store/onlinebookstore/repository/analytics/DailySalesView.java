@@ -0,0 +1,14 @@
+package book.store.onlinebookstore.repository.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailySalesView {
+    LocalDate getSaleDate();
+
+    Long getOrderCount();
+
+    Long getQuantity();
+
+    BigDecimal getRevenue();
+}
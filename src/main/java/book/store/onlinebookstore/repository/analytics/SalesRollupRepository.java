@@ -0,0 +1,246 @@
+package book.store.onlinebookstore.repository.analytics;
+
+import book.store.onlinebookstore.model.SalesRollupWatermark;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollupWatermark, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM SalesRollupWatermark w WHERE w.name = :name")
+    Optional<SalesRollupWatermark> findForUpdate(String name);
+
+    @Query("""
+            SELECT MAX(o.rollupSeq) FROM Order o
+            WHERE o.rollupSeq > :fromSeq AND o.orderDate < :until""")
+    Optional<Long> findLastOrderSeq(long fromSeq, LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO sales_daily (sale_date, order_count, quantity, revenue)
+            SELECT s.sale_date, s.order_count, s.quantity, s.revenue FROM (
+                SELECT CAST(o.order_date AS DATE) AS sale_date,
+                    COUNT(DISTINCT o.id) AS order_count,
+                    SUM(oi.quantity) AS quantity, SUM(oi.price) AS revenue
+                FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                WHERE o.rollup_seq > :fromSeq AND o.rollup_seq <= :toSeq
+                AND o.status <> 'CANCELLED'
+                AND o.is_deleted = false AND oi.is_deleted = false
+                GROUP BY CAST(o.order_date AS DATE)) s
+            ON DUPLICATE KEY UPDATE
+                order_count = sales_daily.order_count + s.order_count,
+                quantity = sales_daily.quantity + s.quantity,
+                revenue = sales_daily.revenue + s.revenue""", nativeQuery = true)
+    int rollUpDailySales(long fromSeq, long toSeq);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO sales_book_daily (sale_date, book_id, quantity, revenue)
+            SELECT s.sale_date, s.book_id, s.quantity, s.revenue FROM (
+                SELECT CAST(o.order_date AS DATE) AS sale_date, oi.book_id AS book_id,
+                    SUM(oi.quantity) AS quantity, SUM(oi.price) AS revenue
+                FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                WHERE o.rollup_seq > :fromSeq AND o.rollup_seq <= :toSeq
+                AND o.status <> 'CANCELLED'
+                AND o.is_deleted = false AND oi.is_deleted = false
+                GROUP BY CAST(o.order_date AS DATE), oi.book_id) s
+            ON DUPLICATE KEY UPDATE
+                quantity = sales_book_daily.quantity + s.quantity,
+                revenue = sales_book_daily.revenue + s.revenue""", nativeQuery = true)
+    int rollUpBookSales(long fromSeq, long toSeq);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO sales_category_daily (sale_date, category_id, quantity, revenue)
+            SELECT s.sale_date, s.category_id, s.quantity, s.revenue FROM (
+                SELECT CAST(o.order_date AS DATE) AS sale_date, bc.category_id AS category_id,
+                    SUM(oi.quantity) AS quantity, SUM(oi.price) AS revenue
+                FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                JOIN books_categories bc ON bc.book_id = oi.book_id
+                WHERE o.rollup_seq > :fromSeq AND o.rollup_seq <= :toSeq
+                AND o.status <> 'CANCELLED'
+                AND o.is_deleted = false AND oi.is_deleted = false
+                GROUP BY CAST(o.order_date AS DATE), bc.category_id) s
+            ON DUPLICATE KEY UPDATE
+                quantity = sales_category_daily.quantity + s.quantity,
+                revenue = sales_category_daily.revenue + s.revenue""", nativeQuery = true)
+    int rollUpCategorySales(long fromSeq, long toSeq);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO sales_author_daily (sale_date, author, quantity, revenue)
+            SELECT s.sale_date, s.author, s.quantity, s.revenue FROM (
+                SELECT CAST(o.order_date AS DATE) AS sale_date, b.author AS author,
+                    SUM(oi.quantity) AS quantity, SUM(oi.price) AS revenue
+                FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                JOIN books b ON b.id = oi.book_id
+                WHERE o.rollup_seq > :fromSeq AND o.rollup_seq <= :toSeq
+                AND o.status <> 'CANCELLED'
+                AND o.is_deleted = false AND oi.is_deleted = false
+                GROUP BY CAST(o.order_date AS DATE), b.author) s
+            ON DUPLICATE KEY UPDATE
+                quantity = sales_author_daily.quantity + s.quantity,
+                revenue = sales_author_daily.revenue + s.revenue""", nativeQuery = true)
+    int rollUpAuthorSales(long fromSeq, long toSeq);
+
+    @Query("""
+            SELECT COUNT(o) FROM Order o
+            WHERE o.rollupReversalPending = true AND o.rollupSeq <= :processedSeq""")
+    long countRollupReversals(long processedSeq);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Order o SET o.rollupReversalPending = false
+            WHERE o.rollupReversalPending = true AND o.rollupSeq <= :processedSeq""")
+    int clearRollupReversals(long processedSeq);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE sales_daily sd
+            SET sd.order_count = sd.order_count - (SELECT COUNT(DISTINCT o.id)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sd.sale_date
+                    AND o.is_deleted = false AND oi.is_deleted = false),
+                sd.quantity = sd.quantity - (SELECT COALESCE(SUM(oi.quantity), 0)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sd.sale_date
+                    AND o.is_deleted = false AND oi.is_deleted = false),
+                sd.revenue = sd.revenue - (SELECT COALESCE(SUM(oi.price), 0)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sd.sale_date
+                    AND o.is_deleted = false AND oi.is_deleted = false)
+            WHERE sd.sale_date IN (SELECT CAST(o.order_date AS DATE) FROM orders o
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq)""",
+            nativeQuery = true)
+    int subtractDailySales(long processedSeq);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE sales_book_daily sb
+            SET sb.quantity = sb.quantity - (SELECT COALESCE(SUM(oi.quantity), 0)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sb.sale_date AND oi.book_id = sb.book_id
+                    AND o.is_deleted = false AND oi.is_deleted = false),
+                sb.revenue = sb.revenue - (SELECT COALESCE(SUM(oi.price), 0)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sb.sale_date AND oi.book_id = sb.book_id
+                    AND o.is_deleted = false AND oi.is_deleted = false)
+            WHERE sb.sale_date IN (SELECT CAST(o.order_date AS DATE) FROM orders o
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq)
+            AND sb.book_id IN (SELECT oi.book_id FROM orders o
+                    JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.rollup_reversal_pending = true
+                    AND o.rollup_seq <= :processedSeq)""", nativeQuery = true)
+    int subtractBookSales(long processedSeq);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE sales_category_daily sc
+            SET sc.quantity = sc.quantity - (SELECT COALESCE(SUM(oi.quantity), 0)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    JOIN books_categories bc ON bc.book_id = oi.book_id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sc.sale_date
+                    AND bc.category_id = sc.category_id
+                    AND o.is_deleted = false AND oi.is_deleted = false),
+                sc.revenue = sc.revenue - (SELECT COALESCE(SUM(oi.price), 0)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    JOIN books_categories bc ON bc.book_id = oi.book_id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sc.sale_date
+                    AND bc.category_id = sc.category_id
+                    AND o.is_deleted = false AND oi.is_deleted = false)
+            WHERE sc.sale_date IN (SELECT CAST(o.order_date AS DATE) FROM orders o
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq)
+            AND sc.category_id IN (SELECT bc.category_id FROM orders o
+                    JOIN order_items oi ON oi.order_id = o.id
+                    JOIN books_categories bc ON bc.book_id = oi.book_id
+                    WHERE o.rollup_reversal_pending = true
+                    AND o.rollup_seq <= :processedSeq)""", nativeQuery = true)
+    int subtractCategorySales(long processedSeq);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE sales_author_daily sa
+            SET sa.quantity = sa.quantity - (SELECT COALESCE(SUM(oi.quantity), 0)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    JOIN books b ON b.id = oi.book_id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sa.sale_date AND b.author = sa.author
+                    AND o.is_deleted = false AND oi.is_deleted = false),
+                sa.revenue = sa.revenue - (SELECT COALESCE(SUM(oi.price), 0)
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    JOIN books b ON b.id = oi.book_id
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq
+                    AND CAST(o.order_date AS DATE) = sa.sale_date AND b.author = sa.author
+                    AND o.is_deleted = false AND oi.is_deleted = false)
+            WHERE sa.sale_date IN (SELECT CAST(o.order_date AS DATE) FROM orders o
+                    WHERE o.rollup_reversal_pending = true AND o.rollup_seq <= :processedSeq)
+            AND sa.author IN (SELECT b.author FROM orders o
+                    JOIN order_items oi ON oi.order_id = o.id
+                    JOIN books b ON b.id = oi.book_id
+                    WHERE o.rollup_reversal_pending = true
+                    AND o.rollup_seq <= :processedSeq)""", nativeQuery = true)
+    int subtractAuthorSales(long processedSeq);
+
+    @Query(value = """
+            SELECT s.sale_date AS saleDate, s.order_count AS orderCount,
+                s.quantity AS quantity, s.revenue AS revenue
+            FROM sales_daily s
+            WHERE s.sale_date BETWEEN :from AND :to AND s.order_count > 0
+            ORDER BY s.sale_date""", nativeQuery = true)
+    List<DailySalesView> findDailySales(LocalDate from, LocalDate to);
+
+    @Query(value = """
+            SELECT s.category_id AS categoryId, c.name AS categoryName,
+                SUM(s.quantity) AS quantity, SUM(s.revenue) AS revenue
+            FROM sales_category_daily s JOIN categories c ON c.id = s.category_id
+            WHERE s.sale_date BETWEEN :from AND :to
+            GROUP BY s.category_id, c.name
+            HAVING SUM(s.quantity) > 0
+            ORDER BY revenue DESC, s.category_id""", nativeQuery = true)
+    List<CategorySalesView> findCategorySales(LocalDate from, LocalDate to);
+
+    @Query(value = """
+            SELECT s.author AS author, SUM(s.quantity) AS quantity, SUM(s.revenue) AS revenue
+            FROM sales_author_daily s
+            WHERE s.sale_date BETWEEN :from AND :to
+            GROUP BY s.author
+            HAVING SUM(s.quantity) > 0
+            ORDER BY revenue DESC, s.author""", nativeQuery = true)
+    List<AuthorSalesView> findAuthorSales(LocalDate from, LocalDate to);
+
+    @Query(value = """
+            SELECT s.book_id AS bookId, b.title AS title,
+                SUM(s.quantity) AS quantity, SUM(s.revenue) AS revenue
+            FROM sales_book_daily s JOIN books b ON b.id = s.book_id
+            WHERE s.sale_date BETWEEN :from AND :to
+            GROUP BY s.book_id, b.title
+            HAVING SUM(s.quantity) > 0
+            ORDER BY revenue DESC, s.book_id
+            LIMIT :limit""", nativeQuery = true)
+    List<BookSalesView> findTopBooks(LocalDate from, LocalDate to, int limit);
+}
@@ -0,0 +1,91 @@
+package book.store.onlinebookstore.repository.book;
+
+import book.store.onlinebookstore.dto.book.CreateBookRequestDto;
+import book.store.onlinebookstore.model.Book;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class BookBulkRepository {
+    private static final String BOOKS_SEQUENCE = "books";
+    private static final String UPSERT_BOOK = """
+            INSERT INTO books (id, title, author, isbn, price, description, cover_image, is_deleted)
+            VALUES (?, ?, ?, ?, ?, ?, ?, false)
+            ON DUPLICATE KEY UPDATE title = VALUES(title), author = VALUES(author),
+                price = VALUES(price), description = VALUES(description),
+                cover_image = VALUES(cover_image), is_deleted = false""";
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Long> findIdsByIsbnIn(Collection<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, isbn FROM books WHERE isbn IN (:isbns)",
+                new MapSqlParameterSource("isbns", isbns),
+                rs -> {
+                    ids.put(rs.getString("isbn"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long allocateIds(int count) {
+        Long next = jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE",
+                Long.class, BOOKS_SEQUENCE);
+        jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ?",
+                next + count, BOOKS_SEQUENCE);
+        return next;
+    }
+
+    public void upsert(List<CreateBookRequestDto> books, Map<String, Long> idsByIsbn,
+                       int batchSize) {
+        jdbcTemplate.batchUpdate(UPSERT_BOOK, books, batchSize, (ps, book) -> {
+            ps.setLong(1, idsByIsbn.get(book.isbn()));
+            ps.setString(2, book.title());
+            ps.setString(3, book.author());
+            ps.setString(4, book.isbn());
+            ps.setBigDecimal(5, book.price());
+            ps.setString(6, book.description());
+            ps.setString(7, book.coverImage());
+        });
+    }
+
+    public void replaceCategories(List<CreateBookRequestDto> books, Map<String, Long> idsByIsbn,
+                                  int batchSize) {
+        namedParameterJdbcTemplate.update("DELETE FROM books_categories WHERE book_id IN (:ids)",
+                new MapSqlParameterSource("ids", idsByIsbn.values()));
+        List<Long[]> links = new ArrayList<>();
+        for (CreateBookRequestDto book : books) {
+            Long bookId = idsByIsbn.get(book.isbn());
+            for (Long categoryId : book.categoriesIds()) {
+                links.add(new Long[]{bookId, categoryId});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY, links, batchSize, (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setLong(2, link[1]);
+        });
+    }
+
+    public void evictCachedCategories() {
+        entityManagerFactory.getCache().unwrap(Cache.class)
+                .evictRegion(Book.CATEGORIES_CACHE_REGION);
+    }
+}
@@ -1,13 +1,23 @@
 package book.store.onlinebookstore.repository.book;
 
+import book.store.onlinebookstore.dto.book.BookExportRow;
 import book.store.onlinebookstore.model.Book;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,8 +25,27 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
     @EntityGraph(attributePaths = "categories")
     Optional<Book> findById(Long id);
 
-    @EntityGraph(attributePaths = "categories")
-    Page<Book> findAll(Pageable pageable);
+    @Query("SELECT b.id FROM Book b")
+    List<Long> findPageIds(Pageable pageable);
+
+    Window<Book> findBy(ScrollPosition position, Limit limit, Sort sort);
 
     List<Book> findAllByCategoriesId(Long id, Pageable pageable);
+
+    Window<Book> findAllByCategoriesId(Long id, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = "categories")
+    List<Book> findAllByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE,
+            value = "" + Integer.MIN_VALUE))
+    @Query("""
+            SELECT new book.store.onlinebookstore.dto.book.BookExportRow(b.id, b.title, b.author,
+                b.isbn, b.price, b.description, b.coverImage, c.id)
+            FROM Book b LEFT JOIN b.categories c
+            ORDER BY b.id""")
+    Stream<BookExportRow> streamAllForExport();
+
+    @Query("SELECT b FROM Book b WHERE b.id > :lastId ORDER BY b.id")
+    List<Book> findIndexBatch(Long lastId, Pageable pageable);
 }
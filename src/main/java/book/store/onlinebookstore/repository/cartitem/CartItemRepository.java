@@ -1,15 +1,23 @@
 package book.store.onlinebookstore.repository.cartitem;
 
 import book.store.onlinebookstore.model.CartItem;
+import jakarta.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CartItemRepository extends JpaRepository<CartItem, Long> {
-    Optional<CartItem> findByIdAndShoppingCartId(Long id, Long shoppingCartId);
+public interface CartItemRepository extends JpaRepository<CartItem, Long>,
+        CartItemRepositoryCustom {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT ci FROM CartItem ci
+            WHERE ci.id = :id AND ci.shoppingCart.id = :shoppingCartId""")
+    Optional<CartItem> findByIdAndShoppingCartIdForUpdate(Long id, Long shoppingCartId);
 
     @EntityGraph(attributePaths = {"shoppingCart", "book"})
     Optional<CartItem> findCartItemByShoppingCartIdAndBookId(Long shoppingCartId, Long bookId);
@@ -0,0 +1,5 @@
+package book.store.onlinebookstore.repository.cartitem;
+
+public interface CartItemRepositoryCustom {
+    int upsert(Long shoppingCartId, Long bookId, int quantity);
+}
@@ -0,0 +1,37 @@
+package book.store.onlinebookstore.repository.cartitem;
+
+import book.store.onlinebookstore.model.CartItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+public class CartItemRepositoryCustomImpl implements CartItemRepositoryCustom {
+    private static final String UPSERT_CART_ITEM = """
+            INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity)
+            VALUES (:id, :shoppingCartId, :bookId, :quantity) AS new
+            ON DUPLICATE KEY UPDATE quantity = quantity + new.quantity""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int upsert(Long shoppingCartId, Long bookId, int quantity) {
+        return entityManager.createNativeQuery(UPSERT_CART_ITEM)
+                .setParameter("id", nextId())
+                .setParameter("shoppingCartId", shoppingCartId)
+                .setParameter("bookId", bookId)
+                .setParameter("quantity", quantity)
+                .executeUpdate();
+    }
+
+    private Object nextId() {
+        SharedSessionContractImplementor session = entityManager
+                .unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(CartItem.class)
+                .getGenerator();
+        return generator.generate(session, null);
+    }
+}
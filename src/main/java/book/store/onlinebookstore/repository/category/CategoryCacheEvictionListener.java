@@ -0,0 +1,33 @@
+package book.store.onlinebookstore.repository.category;
+
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.model.Category;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryCacheEvictionListener {
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @PostRemove
+    public void evictBookCategories(Category category) {
+        Cache cache = entityManagerFactory.getObject().getCache().unwrap(Cache.class);
+        cache.evictRegion(Book.CATEGORIES_CACHE_REGION);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            cache.evictRegion(Book.CATEGORIES_CACHE_REGION);
+                        }
+                    });
+        }
+    }
+}
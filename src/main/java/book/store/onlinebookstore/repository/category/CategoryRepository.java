@@ -1,9 +1,15 @@
 package book.store.onlinebookstore.repository.category;
 
 import book.store.onlinebookstore.model.Category;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>,
+        CategoryRepositoryCustom {
+    Window<Category> findBy(ScrollPosition position, Limit limit, Sort sort);
 }
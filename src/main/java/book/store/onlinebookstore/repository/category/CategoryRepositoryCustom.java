@@ -0,0 +1,9 @@
+package book.store.onlinebookstore.repository.category;
+
+import book.store.onlinebookstore.model.Category;
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryRepositoryCustom {
+    List<Category> loadAllById(Collection<Long> ids);
+}
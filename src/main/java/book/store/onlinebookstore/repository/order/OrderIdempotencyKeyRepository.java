@@ -0,0 +1,34 @@
+package book.store.onlinebookstore.repository.order;
+
+import book.store.onlinebookstore.model.OrderIdempotencyKey;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OrderIdempotencyKeyRepository
+        extends JpaRepository<OrderIdempotencyKey, OrderIdempotencyKey.Key> {
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT IGNORE INTO order_idempotency_keys
+                (user_id, idempotency_key, payload_hash, created_at)
+            VALUES (:userId, :idempotencyKey, :payloadHash, :createdAt)""", nativeQuery = true)
+    int insertIfAbsent(Long userId, String idempotencyKey, String payloadHash,
+                       LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE order_idempotency_keys SET order_id = :orderId
+            WHERE user_id = :userId AND idempotency_key = :idempotencyKey""", nativeQuery = true)
+    int setOrderId(Long userId, String idempotencyKey, Long orderId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.createdAt < :createdBefore")
+    int deleteAllCreatedBefore(LocalDateTime createdBefore);
+}
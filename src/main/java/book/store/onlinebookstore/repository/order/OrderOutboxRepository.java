@@ -0,0 +1,55 @@
+package book.store.onlinebookstore.repository.order;
+
+import book.store.onlinebookstore.model.OrderOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+    String SKIP_LOCKED = "-2";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("""
+            SELECT e FROM OrderOutboxEvent e
+            WHERE e.status = :status AND e.nextAttemptAt <= :now
+            ORDER BY e.id""")
+    List<OrderOutboxEvent> findDueForUpdate(OrderOutboxEvent.Status status, LocalDateTime now,
+                                            Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE OrderOutboxEvent e SET e.attempts = e.attempts + 1,
+                e.nextAttemptAt = :nextAttemptAt
+            WHERE e.id IN :ids""")
+    int lease(Collection<Long> ids, LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderOutboxEvent e SET e.nextAttemptAt = :nextAttemptAt WHERE e.id IN :ids")
+    int reschedule(Collection<Long> ids, LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderOutboxEvent e SET e.status = :status WHERE e.id IN :ids")
+    int updateStatus(Collection<Long> ids, OrderOutboxEvent.Status status);
+
+    @Query("""
+            SELECT e.createdAt FROM OrderOutboxEvent e
+            WHERE e.status = :status ORDER BY e.id""")
+    List<LocalDateTime> findCreatedAtByStatus(OrderOutboxEvent.Status status, Pageable pageable);
+
+    long countByStatus(OrderOutboxEvent.Status status);
+}
@@ -1,21 +1,76 @@
 package book.store.onlinebookstore.repository.order;
 
 import book.store.onlinebookstore.model.Order;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId")
+    List<Long> findPageIdsByUserId(Long userId, Pageable pageable);
+
+    Window<Order> findAllByUserId(Long userId, ScrollPosition position, Limit limit, Sort sort);
+
     @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.book", "orderItems.order"})
-    List<Order> findAllByUserId(Long userId, Pageable pageable);
+    List<Order> findAllByIdIn(Collection<Long> ids);
 
     @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.book", "orderItems.order"})
     Optional<Order> findById(Long orderId);
 
     @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.book", "orderItems.order"})
     Optional<Order> findByIdAndUserId(Long orderId, Long userId);
+
+    boolean existsByIdAndUserId(Long orderId, Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id AS id, o.status AS status FROM Order o WHERE o.id IN :ids")
+    List<OrderStatusView> findStatusesForUpdate(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT o.id AS id, o.status AS status FROM Order o
+            WHERE o.status = :status
+            AND (:placedBefore IS NULL OR o.orderDate < :placedBefore)
+            AND o.id > :afterId
+            ORDER BY o.id""")
+    List<OrderStatusView> findStatusesForUpdate(Order.OrderStatus status,
+                                                LocalDateTime placedBefore,
+                                                Long afterId,
+                                                Pageable pageable);
+
+    @Query("SELECT o.id AS id, o.status AS status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatusView> findStatusById(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Order o
+            SET o.status = :status, o.rollupReversalPending = :rollupReversalPending
+            WHERE o.id = :id AND o.status IN :sources""")
+    int updateStatus(Long id, Order.OrderStatus status, Collection<Order.OrderStatus> sources,
+                     boolean rollupReversalPending);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Order o
+            SET o.status = :status, o.rollupReversalPending = :rollupReversalPending
+            WHERE o.id IN :ids""")
+    int updateStatus(Collection<Long> ids, Order.OrderStatus status,
+                     boolean rollupReversalPending);
 }
@@ -0,0 +1,9 @@
+package book.store.onlinebookstore.repository.order;
+
+import book.store.onlinebookstore.model.Order;
+
+public interface OrderStatusView {
+    Long getId();
+
+    Order.OrderStatus getStatus();
+}
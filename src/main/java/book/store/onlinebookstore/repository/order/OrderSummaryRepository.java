@@ -0,0 +1,27 @@
+package book.store.onlinebookstore.repository.order;
+
+import book.store.onlinebookstore.model.Order;
+import book.store.onlinebookstore.model.OrderSummary;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+    List<OrderSummary> findAllByUserId(Long userId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderSummary s SET s.status = :status WHERE s.orderId = :orderId")
+    int updateStatus(Long orderId, Order.OrderStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderSummary s SET s.status = :status WHERE s.orderId IN :orderIds")
+    int updateStatus(Collection<Long> orderIds, Order.OrderStatus status);
+}
@@ -1,6 +1,7 @@
 package book.store.onlinebookstore.repository.order.item;
 
 import book.store.onlinebookstore.model.OrderItem;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,4 +11,7 @@ import org.springframework.stereotype.Repository;
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @EntityGraph(attributePaths = {"book"})
     Optional<OrderItem> findByIdAndOrderId(Long itemId, Long orderId);
+
+    @EntityGraph(attributePaths = {"book"})
+    List<OrderItem> findAllByOrderIdAndOrderUserIdOrderById(Long orderId, Long userId);
 }
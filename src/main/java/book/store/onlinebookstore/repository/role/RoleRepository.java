@@ -1,10 +1,18 @@
 package book.store.onlinebookstore.repository.role;
 
 import book.store.onlinebookstore.model.Role;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Role getRoleByName(Role.RoleName name);
+
+    List<Role> findAllByNameIn(Collection<Role.RoleName> names);
 }
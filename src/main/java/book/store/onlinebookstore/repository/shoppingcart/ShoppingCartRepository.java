@@ -1,13 +1,79 @@
 package book.store.onlinebookstore.repository.shoppingcart;
 
+import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartSummaryDto;
 import book.store.onlinebookstore.model.ShoppingCart;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
     @EntityGraph(attributePaths = {"cartItems", "cartItems.book", "user"})
     Optional<ShoppingCart> findById(Long id);
+
+    @Query("""
+            SELECT new book.store.onlinebookstore.dto.shoppingcart.ShoppingCartSummaryDto(
+                c.id, c.itemCount, c.totalQuantity, c.subtotal)
+            FROM ShoppingCart c WHERE c.id = :id""")
+    Optional<ShoppingCartSummaryDto> findSummaryById(Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE shopping_carts SET item_count = item_count + :items,
+                total_quantity = total_quantity + :quantity,
+                subtotal = subtotal + :amount
+            WHERE user_id = :id""", nativeQuery = true)
+    int addToSummary(Long id, int items, int quantity, BigDecimal amount);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO shopping_carts (user_id) VALUES (:id)
+            ON DUPLICATE KEY UPDATE user_id = user_id""", nativeQuery = true)
+    int createIfAbsent(Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO shopping_carts (user_id, item_count, total_quantity, subtotal)
+            SELECT :id, 1, :quantity, ROUND(:quantity * b.price, 2)
+            FROM books b WHERE b.id = :bookId AND b.is_deleted = false
+            ON DUPLICATE KEY UPDATE
+                item_count = item_count + CASE WHEN EXISTS (SELECT 1 FROM cart_items ci
+                    WHERE ci.shopping_cart_id = :id AND ci.book_id = :bookId) THEN 0 ELSE 1 END,
+                total_quantity = total_quantity + :quantity,
+                subtotal = subtotal + ROUND(:quantity * b.price, 2)""", nativeQuery = true)
+    int addBookToSummary(Long id, Long bookId, int quantity);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE shopping_carts sc
+            SET sc.item_count = (SELECT COUNT(*) FROM cart_items ci
+                    WHERE ci.shopping_cart_id = sc.user_id),
+                sc.total_quantity = (SELECT COALESCE(SUM(ci.quantity), 0) FROM cart_items ci
+                    WHERE ci.shopping_cart_id = sc.user_id),
+                sc.subtotal = (SELECT COALESCE(SUM(ROUND(ci.quantity * b.price, 2)), 0)
+                    FROM cart_items ci JOIN books b ON b.id = ci.book_id
+                    WHERE ci.shopping_cart_id = sc.user_id)
+            WHERE sc.user_id = :id""", nativeQuery = true)
+    int recalculateSummary(Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE shopping_carts sc
+            SET sc.subtotal = (SELECT COALESCE(SUM(ROUND(ci.quantity * b.price, 2)), 0)
+                    FROM cart_items ci JOIN books b ON b.id = ci.book_id
+                    WHERE ci.shopping_cart_id = sc.user_id)
+            WHERE sc.user_id IN (SELECT ci.shopping_cart_id FROM cart_items ci
+                    WHERE ci.book_id IN (:bookIds))""", nativeQuery = true)
+    int recalculateSubtotals(Collection<Long> bookIds);
 }
@@ -0,0 +1,34 @@
+package book.store.onlinebookstore.repository.stock;
+
+import book.store.onlinebookstore.model.BookStock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface BookStockRepository extends JpaRepository<BookStock, Long> {
+    @Query("SELECT s.quantity FROM BookStock s WHERE s.bookId = :bookId")
+    Optional<Integer> findQuantityByBookId(Long bookId);
+
+    @Query("SELECT s.bookId FROM BookStock s WHERE s.bookId IN :bookIds")
+    List<Long> findBookIdsIn(Collection<Long> bookIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE book_stock SET quantity = quantity - :quantity
+            WHERE book_id = :bookId AND quantity >= :quantity""", nativeQuery = true)
+    int decrement(Long bookId, int quantity);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO book_stock (book_id, quantity) VALUES (:bookId, :quantity) AS new
+            ON DUPLICATE KEY UPDATE quantity = new.quantity""", nativeQuery = true)
+    int upsert(Long bookId, int quantity);
+}
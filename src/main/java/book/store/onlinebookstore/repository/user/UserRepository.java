@@ -11,4 +11,7 @@ import org.springframework.stereotype.Repository;
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     @EntityGraph(attributePaths = "roles")
     Optional<User> findUserByEmail(String email);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findUserById(Long id);
 }
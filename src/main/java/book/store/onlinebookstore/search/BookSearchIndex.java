@@ -0,0 +1,309 @@
+package book.store.onlinebookstore.search;
+
+import book.store.onlinebookstore.dto.book.BookSearchParameters;
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.repository.book.BookRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MIN_TOMBSTONES_BEFORE_REBUILD = 1024;
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean compactionRequested = new AtomicBoolean();
+    private Segment segment = new Segment();
+    private List<Consumer<Segment>> pendingChanges;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.index.refresh-interval:PT10M}",
+            fixedDelayString = "${search.index.refresh-interval:PT10M}")
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Segment rebuilt = new Segment();
+            long lastId = 0L;
+            List<Book> batch;
+            do {
+                batch = bookRepository.findIndexBatch(lastId,
+                        PageRequest.ofSize(REBUILD_BATCH_SIZE));
+                for (Book book : batch) {
+                    rebuilt.add(book);
+                    lastId = book.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                segment = rebuilt;
+                ready = true;
+            } finally {
+                pendingChanges = null;
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${search.index.compaction-interval:PT10S}",
+            fixedDelayString = "${search.index.compaction-interval:PT10S}")
+    public void compactIfFragmented() {
+        if (compactionRequested.compareAndSet(true, false)) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Book book) {
+        apply(target -> {
+            target.tombstone(book.getId());
+            target.add(book);
+        });
+    }
+
+    public void remove(Long bookId) {
+        apply(target -> target.tombstone(bookId));
+    }
+
+    public List<Long> search(BookSearchParameters searchParameters, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) segment.live.clone();
+            filterByField(candidates, Field.TITLE, searchParameters.titles());
+            filterByField(candidates, Field.AUTHOR, searchParameters.authors());
+            List<String> queryTerms = queryTerms(searchParameters.query());
+            if (!queryTerms.isEmpty()) {
+                candidates.and(anyFieldMatch(queryTerms));
+            }
+            return topHits(candidates, queryTerms, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Segment> change) {
+        boolean fragmented;
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            fragmented = segment.isFragmented();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (fragmented) {
+            compactionRequested.set(true);
+        }
+    }
+
+    private void filterByField(BitSet candidates, Field field, String[] phrases) {
+        if (phrases == null || phrases.length == 0) {
+            return;
+        }
+        BitSet matches = new BitSet();
+        for (String phrase : phrases) {
+            List<String> tokens = tokenize(phrase);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            BitSet phraseMatches = (BitSet) segment.postingsFor(field, tokens.get(0)).clone();
+            for (int i = 1; i < tokens.size(); i++) {
+                phraseMatches.and(segment.postingsFor(field, tokens.get(i)));
+            }
+            matches.or(phraseMatches);
+        }
+        candidates.and(matches);
+    }
+
+    private BitSet anyFieldMatch(List<String> terms) {
+        BitSet matches = new BitSet();
+        for (Field field : Field.values()) {
+            for (String term : terms) {
+                matches.or(segment.postingsFor(field, term));
+            }
+        }
+        return matches;
+    }
+
+    private List<Long> topHits(BitSet candidates, List<String> queryTerms, Pageable pageable) {
+        long limit = pageable.isPaged() ? pageable.getOffset() + pageable.getPageSize()
+                : candidates.cardinality();
+        if (limit <= 0 || limit > Integer.MAX_VALUE) {
+            return List.of();
+        }
+        float[] weights = termWeights(queryTerms);
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingLong(Hit::bookId).reversed());
+        PriorityQueue<Hit> top = new PriorityQueue<>(ranking);
+        for (int ord = candidates.nextSetBit(0); ord >= 0; ord = candidates.nextSetBit(ord + 1)) {
+            Hit hit = new Hit(segment.bookIds[ord], score(ord, queryTerms, weights));
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (ranking.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(ranking.reversed());
+        int from = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        if (from >= ranked.size()) {
+            return List.of();
+        }
+        return ranked.subList(from, ranked.size()).stream()
+                .map(Hit::bookId)
+                .toList();
+    }
+
+    private float[] termWeights(List<String> terms) {
+        int liveDocs = Math.max(segment.live.cardinality(), 1);
+        float[] weights = new float[terms.size() * Field.values().length];
+        for (int t = 0; t < terms.size(); t++) {
+            for (Field field : Field.values()) {
+                int documentFrequency = segment.postingsFor(field, terms.get(t)).cardinality();
+                weights[t * Field.values().length + field.ordinal()] = documentFrequency == 0
+                        ? 0f
+                        : field.boost * (float) Math.log(1 + (double) liveDocs
+                                / documentFrequency);
+            }
+        }
+        return weights;
+    }
+
+    private float score(int ord, List<String> terms, float[] weights) {
+        float score = 0f;
+        for (int t = 0; t < terms.size(); t++) {
+            for (Field field : Field.values()) {
+                if (segment.postingsFor(field, terms.get(t)).get(ord)) {
+                    score += weights[t * Field.values().length + field.ordinal()];
+                }
+            }
+        }
+        return score;
+    }
+
+    private static List<String> queryTerms(String query) {
+        List<String> terms = new ArrayList<>(tokenize(query));
+        terms.addAll(isbnTokens(query));
+        return terms.stream().distinct().toList();
+    }
+
+    private static List<String> isbnTokens(String isbn) {
+        if (isbn == null) {
+            return List.of();
+        }
+        String digits = isbn.replaceAll("\\D", "");
+        return digits.length() >= 10 ? List.of(digits) : List.of();
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private enum Field {
+        TITLE(3f),
+        AUTHOR(2f),
+        ISBN(4f),
+        DESCRIPTION(1f);
+
+        private final float boost;
+
+        Field(float boost) {
+            this.boost = boost;
+        }
+    }
+
+    private record Hit(long bookId, float score) {
+    }
+
+    private static class Segment {
+        private final Map<Field, Map<String, BitSet>> postings = new EnumMap<>(Field.class);
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private long[] bookIds = new long[REBUILD_BATCH_SIZE];
+        private int nextOrdinal;
+
+        private void add(Book book) {
+            int ord = nextOrdinal++;
+            if (ord == bookIds.length) {
+                bookIds = Arrays.copyOf(bookIds, bookIds.length * 2);
+            }
+            bookIds[ord] = book.getId();
+            ordinals.put(book.getId(), ord);
+            live.set(ord);
+            addTokens(Field.TITLE, tokenize(book.getTitle()), ord);
+            addTokens(Field.AUTHOR, tokenize(book.getAuthor()), ord);
+            addTokens(Field.ISBN, isbnTokens(book.getIsbn()), ord);
+            addTokens(Field.DESCRIPTION, tokenize(book.getDescription()), ord);
+        }
+
+        private void addTokens(Field field, List<String> tokens, int ord) {
+            Map<String, BitSet> fieldPostings = postings
+                    .computeIfAbsent(field, f -> new HashMap<>());
+            for (String token : tokens) {
+                fieldPostings.computeIfAbsent(token, t -> new BitSet()).set(ord);
+            }
+        }
+
+        private void tombstone(Long bookId) {
+            Integer ord = ordinals.remove(bookId);
+            if (ord != null) {
+                live.clear(ord);
+            }
+        }
+
+        private boolean isFragmented() {
+            int tombstones = nextOrdinal - ordinals.size();
+            return tombstones > Math.max(MIN_TOMBSTONES_BEFORE_REBUILD, ordinals.size());
+        }
+
+        private BitSet postingsFor(Field field, String token) {
+            return postings.getOrDefault(field, Map.of()).getOrDefault(token, new BitSet(0));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package book.store.onlinebookstore.security;
 
 import book.store.onlinebookstore.dto.user.UserLoginRequestDto;
 import book.store.onlinebookstore.dto.user.UserLoginResponseDto;
+import book.store.onlinebookstore.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,6 +19,7 @@ public class AuthenticationService {
         final Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(requestDto.email(), requestDto.password())
         );
-        return new UserLoginResponseDto(jwtUtil.generateToken(authentication.getName()));
+        return new UserLoginResponseDto(jwtUtil.generateToken(
+                (User) authentication.getPrincipal()));
     }
 }
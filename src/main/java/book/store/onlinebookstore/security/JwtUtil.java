@@ -1,19 +1,29 @@
 package book.store.onlinebookstore.security;
 
+import book.store.onlinebookstore.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
+    public static final String ID_CLAIM = "id";
+    public static final String ROLES_CLAIM = "roles";
     private static final long MILLIS_IN_MINUTE = 60000L;
     private static final long MILLIS_IN_HOUR = 3600000L;
     @Value("${jwt.expiration.minutes}")
@@ -21,9 +31,19 @@ public class JwtUtil {
     @Value("${jwt.expiration.hours}")
     private int expirationHours;
     private final Key secret;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    public JwtUtil(@Value("${jwt.secret}") String secretString) {
+    public JwtUtil(@Value("${jwt.secret}") String secretString,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(secret)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .build();
     }
 
     public String generateToken(String username) {
@@ -35,32 +55,84 @@ public class JwtUtil {
                 .compact();
     }
 
+    public String generateToken(User user) {
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream()
+                        .map(role -> role.getName().name())
+                        .toList())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + getExpiration()))
+                .signWith(secret)
+                .compact();
+    }
+
+    public VerifiedToken verify(String token) {
+        String tokenHash = hash(token);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+        if (verifiedToken != null) {
+            return verifiedToken;
+        }
+        verifiedToken = parse(token);
+        verifiedTokens.put(tokenHash, verifiedToken);
+        return verifiedToken;
+    }
+
     public boolean isValidToken(String token) {
+        return verify(token) != null;
+    }
+
+    public String getUsername(String token) {
+        return verify(token).subject();
+    }
+
+    private VerifiedToken parse(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return claimsJws.getBody().getExpiration().after(new Date());
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null || !claims.getExpiration().after(new Date())) {
+                throw new JwtException("Token has no valid expiration");
+            }
+            List<?> roles = claims.get(ROLES_CLAIM, List.class);
+            return new VerifiedToken(claims.getSubject(), claims.get(ID_CLAIM, Long.class),
+                    roles == null ? null : roles.stream().map(Object::toString).toList(),
+                    claims.getExpiration().toInstant());
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Expired or invalid token!");
         }
     }
 
-    public String getUsername(String token) {
-        return getClaimsFromToken(token, Claims::getSubject);
-    }
-
-    private <T> T getClaimsFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     private long getExpiration() {
         return expirationMinutes * MILLIS_IN_MINUTE + expirationHours * MILLIS_IN_HOUR;
     }
+
+    private static class ExpireAtTokenExpiration implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String tokenHash, VerifiedToken token, long currentTime) {
+            long millisLeft = token.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, VerifiedToken token, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(tokenHash, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, VerifiedToken token, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
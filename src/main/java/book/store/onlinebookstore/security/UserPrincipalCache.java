@@ -0,0 +1,100 @@
+package book.store.onlinebookstore.security;
+
+import book.store.onlinebookstore.cache.CacheLoads;
+import book.store.onlinebookstore.exception.EntityNotFoundException;
+import book.store.onlinebookstore.model.Role;
+import book.store.onlinebookstore.model.User;
+import book.store.onlinebookstore.repository.user.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class UserPrincipalCache {
+    private final UserRepository userRepository;
+    private final boolean fromTokenClaims;
+    private final AsyncCache<String, Principal> principals;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${security.principal.from-token-claims:false}")
+                              boolean fromTokenClaims,
+                              @Value("${security.principal.cache.max-size:10000}") long maxSize,
+                              @Value("${security.principal.cache.ttl:PT5M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.fromTokenClaims = fromTokenClaims;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public User getPrincipal(VerifiedToken token) {
+        String email = token.subject();
+        if (fromTokenClaims) {
+            Principal principal = fromToken(token);
+            if (principal != null) {
+                return principal.toUser();
+            }
+        }
+        return CacheLoads.get(principals, email, this::load).toUser();
+    }
+
+    public void evict(String email) {
+        principals.synchronous().invalidate(email);
+    }
+
+    public void evictAfterCommit(String email) {
+        evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            evict(email);
+                        }
+                    });
+        }
+    }
+
+    public void evictAll() {
+        principals.synchronous().invalidateAll();
+    }
+
+    private Principal load(String email) {
+        User user = userRepository.findUserByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find user by username: "
+                        + email));
+        return new Principal(user.getId(), user.getEmail(), user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    private Principal fromToken(VerifiedToken token) {
+        if (token.userId() == null || token.roles() == null) {
+            return null;
+        }
+        return new Principal(token.userId(), token.subject(), token.roles().stream()
+                .map(Role.RoleName::valueOf)
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    private record Principal(Long id, String email, Set<Role.RoleName> roles) {
+        private User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            for (Role.RoleName roleName : roles) {
+                Role role = new Role();
+                role.setName(roleName);
+                user.getRoles().add(role);
+            }
+            return user;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package book.store.onlinebookstore.security;
+
+import book.store.onlinebookstore.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalEvictionListener {
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        UserPrincipalCache principalCache = userPrincipalCache.getIfAvailable();
+        if (principalCache == null) {
+            return;
+        }
+        principalCache.evictAfterCommit(user.getEmail());
+    }
+}
@@ -0,0 +1,10 @@
+package book.store.onlinebookstore.security;
+
+import java.time.Instant;
+import java.util.List;
+
+public record VerifiedToken(String subject, Long userId, List<String> roles, Instant expiresAt) {
+    public VerifiedToken {
+        roles = roles == null ? null : List.copyOf(roles);
+    }
+}
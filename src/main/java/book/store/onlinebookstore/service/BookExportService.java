@@ -0,0 +1,9 @@
+package book.store.onlinebookstore.service;
+
+import book.store.onlinebookstore.dto.book.BookExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    long exportBooks(OutputStream outputStream, BookExportFormat format) throws IOException;
+}
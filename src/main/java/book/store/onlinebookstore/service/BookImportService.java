@@ -0,0 +1,9 @@
+package book.store.onlinebookstore.service;
+
+import book.store.onlinebookstore.dto.book.BookImportResultDto;
+import java.io.InputStream;
+import org.springframework.http.MediaType;
+
+public interface BookImportService {
+    BookImportResultDto importBooks(InputStream inputStream, MediaType contentType);
+}
@@ -1,10 +1,12 @@
 package book.store.onlinebookstore.service;
 
+import book.store.onlinebookstore.dto.book.BookCacheStatsDto;
 import book.store.onlinebookstore.dto.book.BookDto;
 import book.store.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import book.store.onlinebookstore.dto.book.BookSearchParameters;
 import book.store.onlinebookstore.dto.book.CreateBookRequestDto;
 import book.store.onlinebookstore.dto.book.UpdateBookRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -13,12 +15,19 @@ public interface BookService {
 
     BookDto getById(Long id);
 
+    BookCacheStatsDto getCacheStats();
+
     List<BookDtoWithoutCategoryIds> findBooksByCategoryId(Long id, Pageable pageable);
 
+    CursorPageDto<BookDtoWithoutCategoryIds> findBooksByCategoryIdAfter(Long id, String cursor,
+                                                                        Pageable pageable);
+
     List<BookDto> search(BookSearchParameters searchParameters, Pageable pageable);
 
     List<BookDto> findAll(Pageable pageable);
 
+    CursorPageDto<BookDto> findAllAfter(String cursor, Pageable pageable);
+
     void deleteById(Long id);
 
     BookDto updateById(Long id, UpdateBookRequestDto requestBookDto);
@@ -3,12 +3,15 @@ package book.store.onlinebookstore.service;
 import book.store.onlinebookstore.dto.category.CategoryDto;
 import book.store.onlinebookstore.dto.category.CreateCategoryRequestDto;
 import book.store.onlinebookstore.dto.category.UpdateCategoryRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
 public interface CategoryService {
     List<CategoryDto> findAll(Pageable pageable);
 
+    CursorPageDto<CategoryDto> findAllAfter(String cursor, Pageable pageable);
+
     CategoryDto getById(Long id);
 
     CategoryDto save(CreateCategoryRequestDto categoryRequestDto);
@@ -0,0 +1,12 @@
+package book.store.onlinebookstore.service;
+
+import book.store.onlinebookstore.dto.stock.BookStockDto;
+import java.util.Map;
+
+public interface InventoryService {
+    void reserve(Map<Long, Integer> quantitiesByBookId);
+
+    BookStockDto getStock(Long bookId);
+
+    BookStockDto setStock(Long bookId, int quantity);
+}
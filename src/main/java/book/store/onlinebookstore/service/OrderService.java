@@ -2,19 +2,28 @@ package book.store.onlinebookstore.service;
 
 import book.store.onlinebookstore.dto.order.CreateOrderRequestDto;
 import book.store.onlinebookstore.dto.order.OrderDto;
+import book.store.onlinebookstore.dto.order.OrderOutboxStatsDto;
+import book.store.onlinebookstore.dto.order.OrderSummaryDto;
 import book.store.onlinebookstore.dto.order.UpdateOrderRequestDto;
 import book.store.onlinebookstore.dto.order.item.OrderItemDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
 public interface OrderService {
-    OrderDto placeOrder(Long userid, CreateOrderRequestDto requestDto);
+    OrderDto placeOrder(Long userid, String idempotencyKey, CreateOrderRequestDto requestDto);
 
     List<OrderDto> getOrders(Long userId, Pageable pageable);
 
+    CursorPageDto<OrderDto> getOrdersAfter(Long userId, String cursor, Pageable pageable);
+
+    List<OrderSummaryDto> getOrderSummaries(Long userId, Pageable pageable);
+
     List<OrderItemDto> getOrderItemsByOrderId(Long userId, Long orderId);
 
     OrderItemDto getItemById(Long userId, Long orderId, Long itemId);
 
     OrderDto updateOrderStatus(Long orderId, UpdateOrderRequestDto requestDto);
+
+    OrderOutboxStatsDto getOutboxStats();
 }
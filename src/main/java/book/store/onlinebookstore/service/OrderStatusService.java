@@ -0,0 +1,12 @@
+package book.store.onlinebookstore.service;
+
+import book.store.onlinebookstore.dto.order.BulkOrderStatusUpdateDto;
+import book.store.onlinebookstore.dto.order.BulkUpdateOrderStatusRequestDto;
+import book.store.onlinebookstore.dto.order.OrderStatusDto;
+import book.store.onlinebookstore.dto.order.UpdateOrderRequestDto;
+
+public interface OrderStatusService {
+    OrderStatusDto updateOrderStatus(Long orderId, UpdateOrderRequestDto requestDto);
+
+    BulkOrderStatusUpdateDto updateOrderStatuses(BulkUpdateOrderStatusRequestDto requestDto);
+}
@@ -0,0 +1,21 @@
+package book.store.onlinebookstore.service;
+
+import book.store.onlinebookstore.dto.analytics.AuthorRevenueDto;
+import book.store.onlinebookstore.dto.analytics.BookSalesDto;
+import book.store.onlinebookstore.dto.analytics.CategoryRevenueDto;
+import book.store.onlinebookstore.dto.analytics.DailyRevenueDto;
+import book.store.onlinebookstore.dto.analytics.SalesRollupStatusDto;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAnalyticsService {
+    List<DailyRevenueDto> getDailyRevenue(LocalDate from, LocalDate to);
+
+    List<CategoryRevenueDto> getRevenueByCategory(LocalDate from, LocalDate to);
+
+    List<AuthorRevenueDto> getRevenueByAuthor(LocalDate from, LocalDate to);
+
+    List<BookSalesDto> getTopBooks(LocalDate from, LocalDate to, int limit);
+
+    SalesRollupStatusDto refresh();
+}
@@ -1,7 +1,10 @@
 package book.store.onlinebookstore.service;
 
+import book.store.onlinebookstore.dto.cartitem.CartItemOperationDto;
 import book.store.onlinebookstore.dto.cartitem.CreateCartItemRequestDto;
 import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartSummaryDto;
+import java.util.List;
 import org.springframework.security.core.Authentication;
 
 public interface ShoppingCartService {
@@ -9,7 +12,12 @@ public interface ShoppingCartService {
 
     ShoppingCartDto getShoppingCart(Authentication authentication);
 
+    ShoppingCartSummaryDto getShoppingCartSummary(Authentication authentication);
+
     ShoppingCartDto updateCartItem(Authentication authentication, Long itemId, Integer quantity);
 
     ShoppingCartDto deleteCartItemById(Authentication authentication, Long itemId);
+
+    ShoppingCartDto applyCartItemOperations(Authentication authentication,
+                                            List<CartItemOperationDto> operations);
 }
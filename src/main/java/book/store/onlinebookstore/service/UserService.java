@@ -1,10 +1,14 @@
 package book.store.onlinebookstore.service;
 
+import book.store.onlinebookstore.dto.user.UpdateUserRolesRequestDto;
 import book.store.onlinebookstore.dto.user.UserRegistrationRequestDto;
 import book.store.onlinebookstore.dto.user.UserRegistrationResponseDto;
+import book.store.onlinebookstore.dto.user.UserRolesDto;
 import book.store.onlinebookstore.exception.UserRegistrationException;
 
 public interface UserService {
     UserRegistrationResponseDto register(UserRegistrationRequestDto registrationRequest)
             throws UserRegistrationException;
+
+    UserRolesDto updateRoles(Long id, UpdateUserRolesRequestDto requestDto);
 }
@@ -0,0 +1,116 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.cache.CacheLoads;
+import book.store.onlinebookstore.dto.book.BookCacheStatsDto;
+import book.store.onlinebookstore.dto.book.BookDto;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class BookDtoCache implements MeterBinder {
+    public static final String CACHE_NAME = "books.dto";
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int CATEGORY_ID_BYTES = 32;
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final AsyncCache<Long, BookDto> books;
+
+    public BookDtoCache(@Value("${books.cache.max-size:10000}") long maxSize,
+                        @Value("${books.cache.max-weight-bytes:0}") long maxWeightBytes,
+                        @Value("${books.cache.ttl:PT10M}") Duration ttl) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .recordStats();
+        this.books = maxWeightBytes > 0
+                ? builder.maximumWeight(maxWeightBytes)
+                        .weigher((Long id, BookDto book) -> weigh(book))
+                        .buildAsync()
+                : builder.maximumSize(maxSize).buildAsync();
+    }
+
+    public BookDto get(Long id, Function<Long, BookDto> loader) {
+        return copy(CacheLoads.get(books, id, loader));
+    }
+
+    public void evict(Long id) {
+        runNowAndAfterCommit(() -> books.synchronous().invalidate(id));
+    }
+
+    public void evictAll() {
+        runNowAndAfterCommit(() -> books.synchronous().invalidateAll());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, books, CACHE_NAME);
+    }
+
+    public BookCacheStatsDto stats() {
+        Cache<Long, BookDto> cache = books.synchronous();
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        return new BookCacheStatsDto(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadCount(),
+                stats.loadFailureCount(),
+                stats.averageLoadPenalty() / NANOS_PER_MILLI,
+                stats.evictionCount(),
+                stats.evictionWeight());
+    }
+
+    private static void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            eviction.run();
+                        }
+                    });
+        }
+    }
+
+    private static BookDto copy(BookDto cached) {
+        BookDto book = new BookDto();
+        book.setId(cached.getId());
+        book.setTitle(cached.getTitle());
+        book.setAuthor(cached.getAuthor());
+        book.setIsbn(cached.getIsbn());
+        book.setPrice(cached.getPrice());
+        book.setCategoriesIds(cached.getCategoriesIds() == null
+                ? null : new HashSet<>(cached.getCategoriesIds()));
+        book.setDescription(cached.getDescription());
+        book.setCoverImage(cached.getCoverImage());
+        return book;
+    }
+
+    private static int weigh(BookDto book) {
+        int categories = book.getCategoriesIds() == null ? 0 : book.getCategoriesIds().size();
+        return ENTRY_OVERHEAD_BYTES
+                + 2 * (length(book.getTitle()) + length(book.getAuthor())
+                        + length(book.getIsbn()) + length(book.getDescription())
+                        + length(book.getCoverImage()))
+                + CATEGORY_ID_BYTES * categories;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
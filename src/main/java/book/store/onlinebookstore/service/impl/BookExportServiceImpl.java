@@ -0,0 +1,89 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.dto.book.BookDto;
+import book.store.onlinebookstore.dto.book.BookExportFormat;
+import book.store.onlinebookstore.dto.book.BookExportRow;
+import book.store.onlinebookstore.repository.book.BookRepository;
+import book.store.onlinebookstore.service.BookExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class BookExportServiceImpl implements BookExportService {
+    private static final String CATEGORY_SEPARATOR = ";";
+
+    private final BookRepository bookRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public BookExportServiceImpl(BookRepository bookRepository, ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.ndjsonWriter = objectMapper.writerFor(BookDto.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        CsvMapper csvMapper = CsvMapper.builder()
+                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .build();
+        CsvSchema schema = csvMapper.schemaFor(BookDto.class)
+                .withHeader()
+                .withArrayElementSeparator(CATEGORY_SEPARATOR);
+        this.csvWriter = csvMapper.writer(schema)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBooks(OutputStream outputStream, BookExportFormat format)
+            throws IOException {
+        ObjectWriter writer = format == BookExportFormat.CSV ? csvWriter : ndjsonWriter;
+        long exported = 0;
+        try (Stream<BookExportRow> rows = bookRepository.streamAllForExport();
+                SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+            Iterator<BookExportRow> iterator = rows.iterator();
+            BookDto book = null;
+            while (iterator.hasNext()) {
+                BookExportRow row = iterator.next();
+                if (book == null || !book.getId().equals(row.id())) {
+                    if (book != null) {
+                        sequenceWriter.write(book);
+                        exported++;
+                    }
+                    book = toDto(row);
+                }
+                if (row.categoryId() != null) {
+                    book.getCategoriesIds().add(row.categoryId());
+                }
+            }
+            if (book != null) {
+                sequenceWriter.write(book);
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    private BookDto toDto(BookExportRow row) {
+        BookDto book = new BookDto();
+        book.setId(row.id());
+        book.setTitle(row.title());
+        book.setAuthor(row.author());
+        book.setIsbn(row.isbn());
+        book.setPrice(row.price());
+        book.setDescription(row.description());
+        book.setCoverImage(row.coverImage());
+        book.setCategoriesIds(new LinkedHashSet<>());
+        return book;
+    }
+}
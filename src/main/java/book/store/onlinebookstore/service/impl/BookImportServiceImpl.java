@@ -0,0 +1,252 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.dto.book.BookImportErrorDto;
+import book.store.onlinebookstore.dto.book.BookImportResultDto;
+import book.store.onlinebookstore.dto.book.CreateBookRequestDto;
+import book.store.onlinebookstore.exception.DataProcessingException;
+import book.store.onlinebookstore.model.Category;
+import book.store.onlinebookstore.repository.book.BookBulkRepository;
+import book.store.onlinebookstore.repository.category.CategoryRepository;
+import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import book.store.onlinebookstore.search.BookSearchIndex;
+import book.store.onlinebookstore.service.BookImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final char CATEGORY_SEPARATOR = ';';
+    private static final long MILLIS_IN_SECOND = 1000L;
+
+    private final BookBulkRepository bookBulkRepository;
+    private final CategoryRepository categoryRepository;
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookDtoCache bookDtoCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public BookImportServiceImpl(BookBulkRepository bookBulkRepository,
+                                 CategoryRepository categoryRepository,
+                                 ShoppingCartRepository shoppingCartRepository,
+                                 BookSearchIndex bookSearchIndex,
+                                 BookDtoCache bookDtoCache,
+                                 Validator validator,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${books.import.batch-size:1000}") int batchSize,
+                                 @Value("${books.import.max-reported-errors:1000}")
+                                 int maxReportedErrors) {
+        this.bookBulkRepository = bookBulkRepository;
+        this.categoryRepository = categoryRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookDtoCache = bookDtoCache;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonReader = objectMapper.readerFor(CreateBookRequestDto.class);
+        this.csvReader = new CsvMapper()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readerFor(CreateBookRequestDto.class)
+                .with(CsvSchema.emptySchema()
+                        .withHeader()
+                        .withArrayElementSeparator(String.valueOf(CATEGORY_SEPARATOR)));
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public BookImportResultDto importBooks(InputStream inputStream, MediaType contentType) {
+        long startedAt = System.currentTimeMillis();
+        Import bookImport = new Import(categoryRepository.findAll().stream()
+                .map(Category::getId)
+                .collect(Collectors.toUnmodifiableSet()));
+        try {
+            if (TEXT_CSV.isCompatibleWith(contentType)) {
+                readCsv(inputStream, bookImport);
+            } else {
+                readNdjson(inputStream, bookImport);
+            }
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't read books import at row "
+                    + bookImport.rows, e);
+        } finally {
+            flush(bookImport);
+            if (bookImport.inserted + bookImport.updated > 0) {
+                bookSearchIndex.rebuild();
+            }
+        }
+        long elapsedMillis = Math.max(System.currentTimeMillis() - startedAt, 1L);
+        return new BookImportResultDto(bookImport.rows, bookImport.inserted, bookImport.updated,
+                bookImport.failed, elapsedMillis,
+                bookImport.rows * MILLIS_IN_SECOND / elapsedMillis,
+                bookImport.errors.stream()
+                        .sorted(Comparator.comparingLong(BookImportErrorDto::row))
+                        .toList());
+    }
+
+    private void readCsv(InputStream inputStream, Import bookImport) throws IOException {
+        try (MappingIterator<CreateBookRequestDto> rows = csvReader.readValues(inputStream)) {
+            while (true) {
+                CreateBookRequestDto book;
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                    book = rows.nextValue();
+                } catch (RuntimeException | IOException e) {
+                    bookImport.rows++;
+                    bookImport.reject(bookImport.rows, null, "Malformed CSV row: "
+                            + e.getMessage());
+                    continue;
+                }
+                accept(bookImport, book);
+            }
+        }
+    }
+
+    private void readNdjson(InputStream inputStream, Import bookImport) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                CreateBookRequestDto book;
+                try {
+                    book = jsonReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    bookImport.rows++;
+                    bookImport.reject(bookImport.rows, null, "Malformed NDJSON row: "
+                            + e.getOriginalMessage());
+                    continue;
+                }
+                accept(bookImport, book);
+            }
+        }
+    }
+
+    private void accept(Import bookImport, CreateBookRequestDto book) {
+        long row = ++bookImport.rows;
+        String error = validate(book, bookImport.categoryIds);
+        if (error != null) {
+            bookImport.reject(row, book.isbn(), error);
+            return;
+        }
+        if (bookImport.chunk.put(book.isbn(), new Row(row, book)) != null) {
+            bookImport.updated++;
+        }
+        if (bookImport.chunk.size() >= batchSize) {
+            flush(bookImport);
+        }
+    }
+
+    private String validate(CreateBookRequestDto book, Set<Long> categoryIds) {
+        Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(book);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        List<Long> unknownCategories = book.categoriesIds().stream()
+                .filter(id -> !categoryIds.contains(id))
+                .sorted()
+                .toList();
+        return unknownCategories.isEmpty() ? null : "Unknown categories " + unknownCategories;
+    }
+
+    private void flush(Import bookImport) {
+        if (bookImport.chunk.isEmpty()) {
+            return;
+        }
+        List<Row> rows = new ArrayList<>(bookImport.chunk.values());
+        bookImport.chunk.clear();
+        List<CreateBookRequestDto> books = rows.stream().map(Row::book).toList();
+        try {
+            int inserted = transactionTemplate.execute(status -> upsert(books));
+            bookBulkRepository.evictCachedCategories();
+            bookDtoCache.evictAll();
+            bookImport.inserted += inserted;
+            bookImport.updated += books.size() - inserted;
+        } catch (DataAccessException e) {
+            for (Row row : rows) {
+                bookImport.reject(row.number(), row.book().isbn(),
+                        "Can't save book: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private int upsert(List<CreateBookRequestDto> books) {
+        List<String> isbns = books.stream().map(CreateBookRequestDto::isbn).toList();
+        Map<String, Long> idsByIsbn = bookBulkRepository.findIdsByIsbnIn(isbns);
+        List<String> newIsbns = isbns.stream()
+                .filter(isbn -> !idsByIsbn.containsKey(isbn))
+                .toList();
+        if (!newIsbns.isEmpty()) {
+            long nextId = bookBulkRepository.allocateIds(newIsbns.size());
+            for (String isbn : newIsbns) {
+                idsByIsbn.put(isbn, nextId++);
+            }
+        }
+        bookBulkRepository.upsert(books, idsByIsbn, batchSize);
+        Map<String, Long> savedIds = bookBulkRepository.findIdsByIsbnIn(isbns);
+        bookBulkRepository.replaceCategories(books, savedIds, batchSize);
+        shoppingCartRepository.recalculateSubtotals(savedIds.values());
+        return newIsbns.size();
+    }
+
+    private record Row(long number, CreateBookRequestDto book) {
+    }
+
+    private class Import {
+        private final Set<Long> categoryIds;
+        private final Map<String, Row> chunk = new LinkedHashMap<>();
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long rows;
+        private long inserted;
+        private long updated;
+        private long failed;
+
+        private Import(Set<Long> categoryIds) {
+            this.categoryIds = categoryIds;
+        }
+
+        private void reject(long row, String isbn, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportErrorDto(row, isbn, message));
+            }
+        }
+    }
+}
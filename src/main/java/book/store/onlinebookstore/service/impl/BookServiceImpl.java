@@ -1,46 +1,74 @@
 package book.store.onlinebookstore.service.impl;
 
+import book.store.onlinebookstore.dto.book.BookCacheStatsDto;
 import book.store.onlinebookstore.dto.book.BookDto;
 import book.store.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import book.store.onlinebookstore.dto.book.BookSearchParameters;
 import book.store.onlinebookstore.dto.book.CreateBookRequestDto;
 import book.store.onlinebookstore.dto.book.UpdateBookRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
 import book.store.onlinebookstore.exception.EntityNotFoundException;
 import book.store.onlinebookstore.mapper.BookMapper;
 import book.store.onlinebookstore.model.Book;
 import book.store.onlinebookstore.model.Category;
+import book.store.onlinebookstore.repository.KeysetCursorCodec;
 import book.store.onlinebookstore.repository.book.BookRepository;
 import book.store.onlinebookstore.repository.book.BookSpecificationBuilder;
 import book.store.onlinebookstore.repository.category.CategoryRepository;
+import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import book.store.onlinebookstore.search.BookSearchIndex;
 import book.store.onlinebookstore.service.BookService;
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Service
 public class BookServiceImpl implements BookService {
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "author", "price");
+
     private final BookRepository bookRepository;
     private final CategoryRepository categoryRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder specificationBuilder;
+    private final BookSearchIndex bookSearchIndex;
+    private final KeysetCursorCodec cursorCodec;
+    private final BookDtoCache bookDtoCache;
+    private final ShoppingCartRepository shoppingCartRepository;
 
     @Override
     public BookDto save(CreateBookRequestDto bookRequestDto) {
         Book newBook = bookMapper.toBook(bookRequestDto);
         newBook.setCategories(getCategoriesFromIds(bookRequestDto.categoriesIds()));
-        return bookMapper.toDto(bookRepository.save(newBook));
+        Book savedBook = bookRepository.save(newBook);
+        bookSearchIndex.index(savedBook);
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
     public BookDto getById(Long id) {
-        return bookRepository
-                .findById(id)
+        return bookDtoCache.get(id, bookId -> bookRepository
+                .findById(bookId)
                 .map(bookMapper::toDto)
-                .orElseThrow(() -> new EntityNotFoundException("Book was not found by id " + id));
+                .orElseThrow(() -> new EntityNotFoundException("Book was not found by id "
+                        + bookId)));
+    }
+
+    @Override
+    public BookCacheStatsDto getCacheStats() {
+        return bookDtoCache.stats();
     }
 
     @Override
@@ -50,19 +78,42 @@ public class BookServiceImpl implements BookService {
                 .toList();
     }
 
+    @Override
+    public CursorPageDto<BookDtoWithoutCategoryIds> findBooksByCategoryIdAfter(Long id,
+                                                                               String cursor,
+                                                                               Pageable pageable) {
+        Sort sort = cursorCodec.resolveSort(pageable, SORTABLE_PROPERTIES, Sort.by("id"));
+        Window<Book> window = bookRepository.findAllByCategoriesId(id,
+                cursorCodec.decode(cursor, sort), Limit.of(pageable.getPageSize()), sort);
+        return new CursorPageDto<>(
+                window.stream().map(bookMapper::toDtoWithoutCategories).toList(),
+                cursorCodec.encode(window));
+    }
+
     @Override
     public List<BookDto> search(BookSearchParameters searchParameters, Pageable pageable) {
-        return bookRepository.findAll(specificationBuilder.build(searchParameters), pageable)
-                .stream()
-                .map(bookMapper::toDto)
-                .toList();
+        if (!bookSearchIndex.isReady()) {
+            return bookRepository.findAll(specificationBuilder.build(searchParameters), pageable)
+                    .stream()
+                    .map(bookMapper::toDto)
+                    .toList();
+        }
+        return findAllInOrder(bookSearchIndex.search(searchParameters, pageable));
     }
 
     @Override
     public List<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).stream()
-                .map(bookMapper::toDto)
-                .toList();
+        return findAllInOrder(bookRepository.findPageIds(pageable));
+    }
+
+    @Override
+    public CursorPageDto<BookDto> findAllAfter(String cursor, Pageable pageable) {
+        Sort sort = cursorCodec.resolveSort(pageable, SORTABLE_PROPERTIES, Sort.by("id"));
+        Window<Book> window = bookRepository.findBy(cursorCodec.decode(cursor, sort),
+                Limit.of(pageable.getPageSize()), sort);
+        return new CursorPageDto<>(
+                findAllInOrder(window.stream().map(Book::getId).toList()),
+                cursorCodec.encode(window));
     }
 
     @Override
@@ -71,18 +122,41 @@ public class BookServiceImpl implements BookService {
             throw new IndexOutOfBoundsException("Index cannot be less then 1");
         }
         bookRepository.deleteById(id);
+        bookDtoCache.evict(id);
+        bookSearchIndex.remove(id);
     }
 
     @Override
+    @Transactional
     public BookDto updateById(Long id, UpdateBookRequestDto requestBookDto) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find book by id " + id));
+        BigDecimal oldPrice = book.getPrice();
         bookMapper.updateBook(requestBookDto, book);
         book.setCategories(getCategoriesFromIds(requestBookDto.categoriesIds()));
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.save(book);
+        if (oldPrice.compareTo(savedBook.getPrice()) != 0) {
+            shoppingCartRepository.recalculateSubtotals(List.of(id));
+        }
+        bookDtoCache.evict(id);
+        bookSearchIndex.index(savedBook);
+        return bookMapper.toDto(savedBook);
+    }
+
+    private List<BookDto> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> booksById = bookRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(bookMapper::toDto)
+                .toList();
     }
 
     private Set<Category> getCategoriesFromIds(Set<Long> ids) {
-        return new HashSet<>(categoryRepository.findAllById(ids));
+        return new HashSet<>(categoryRepository.loadAllById(ids));
     }
 }
@@ -3,21 +3,31 @@ package book.store.onlinebookstore.service.impl;
 import book.store.onlinebookstore.dto.category.CategoryDto;
 import book.store.onlinebookstore.dto.category.CreateCategoryRequestDto;
 import book.store.onlinebookstore.dto.category.UpdateCategoryRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
 import book.store.onlinebookstore.exception.EntityNotFoundException;
 import book.store.onlinebookstore.mapper.CategoryMapper;
 import book.store.onlinebookstore.model.Category;
+import book.store.onlinebookstore.repository.KeysetCursorCodec;
 import book.store.onlinebookstore.repository.category.CategoryRepository;
 import book.store.onlinebookstore.service.CategoryService;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
 @Service
 public class CategoryServiceImpl implements CategoryService {
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name");
+
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final KeysetCursorCodec cursorCodec;
+    private final BookDtoCache bookDtoCache;
 
     @Override
     public List<CategoryDto> findAll(Pageable pageable) {
@@ -26,6 +36,15 @@ public class CategoryServiceImpl implements CategoryService {
                 .toList();
     }
 
+    @Override
+    public CursorPageDto<CategoryDto> findAllAfter(String cursor, Pageable pageable) {
+        Sort sort = cursorCodec.resolveSort(pageable, SORTABLE_PROPERTIES, Sort.by("id"));
+        Window<Category> window = categoryRepository.findBy(cursorCodec.decode(cursor, sort),
+                Limit.of(pageable.getPageSize()), sort);
+        return new CursorPageDto<>(window.stream().map(categoryMapper::toDto).toList(),
+                cursorCodec.encode(window));
+    }
+
     @Override
     public CategoryDto getById(Long id) {
         return categoryRepository
@@ -55,5 +74,6 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IndexOutOfBoundsException("Index cannot be less then 1");
         }
         categoryRepository.deleteById(id);
+        bookDtoCache.evictAll();
     }
 }
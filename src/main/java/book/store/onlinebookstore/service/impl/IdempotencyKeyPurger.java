@@ -0,0 +1,26 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.repository.order.OrderIdempotencyKeyRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdempotencyKeyPurger {
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+
+    public IdempotencyKeyPurger(OrderIdempotencyKeyRepository idempotencyKeyRepository,
+                                @Value("${orders.idempotency.ttl:P1D}") Duration ttl) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+    }
+
+    @Scheduled(initialDelayString = "${orders.idempotency.purge-interval:PT1H}",
+            fixedDelayString = "${orders.idempotency.purge-interval:PT1H}")
+    public int purgeExpired() {
+        return idempotencyKeyRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+}
@@ -0,0 +1,72 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.dto.stock.BookStockDto;
+import book.store.onlinebookstore.exception.EntityNotFoundException;
+import book.store.onlinebookstore.exception.InsufficientStockException;
+import book.store.onlinebookstore.repository.book.BookRepository;
+import book.store.onlinebookstore.repository.stock.BookStockRepository;
+import book.store.onlinebookstore.service.InventoryService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+    private final BookStockRepository bookStockRepository;
+    private final BookRepository bookRepository;
+    private final StripedStockReservations reservations;
+
+    @Override
+    @Transactional
+    public void reserve(Map<Long, Integer> quantitiesByBookId) {
+        List<Long> notDecremented = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantitiesByBookId).entrySet()) {
+            if (!reservations.tryReserve(entry.getKey(), entry.getValue(),
+                    id -> bookStockRepository.findQuantityByBookId(id).orElse(null))) {
+                throw insufficientStock(entry.getKey());
+            }
+            if (bookStockRepository.decrement(entry.getKey(), entry.getValue()) == 0) {
+                notDecremented.add(entry.getKey());
+            }
+        }
+        if (!notDecremented.isEmpty()) {
+            Set<Long> tracked = new HashSet<>(bookStockRepository
+                    .findBookIdsIn(notDecremented));
+            for (Long bookId : notDecremented) {
+                if (tracked.contains(bookId)) {
+                    throw insufficientStock(bookId);
+                }
+            }
+        }
+    }
+
+    @Override
+    public BookStockDto getStock(Long bookId) {
+        return bookStockRepository.findQuantityByBookId(bookId)
+                .map(quantity -> new BookStockDto(bookId, quantity))
+                .orElseThrow(() -> new EntityNotFoundException("Can't find stock for book by id "
+                        + bookId));
+    }
+
+    @Override
+    @Transactional
+    public BookStockDto setStock(Long bookId, int quantity) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException("Can't find book by id " + bookId);
+        }
+        bookStockRepository.upsert(bookId, quantity);
+        reservations.invalidate(bookId);
+        return new BookStockDto(bookId, quantity);
+    }
+
+    private InsufficientStockException insufficientStock(Long bookId) {
+        return new InsufficientStockException("Not enough stock for book by id " + bookId);
+    }
+}
@@ -2,73 +2,156 @@ package book.store.onlinebookstore.service.impl;
 
 import book.store.onlinebookstore.dto.order.CreateOrderRequestDto;
 import book.store.onlinebookstore.dto.order.OrderDto;
+import book.store.onlinebookstore.dto.order.OrderOutboxStatsDto;
+import book.store.onlinebookstore.dto.order.OrderSummaryDto;
 import book.store.onlinebookstore.dto.order.UpdateOrderRequestDto;
 import book.store.onlinebookstore.dto.order.item.OrderItemDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
+import book.store.onlinebookstore.exception.DataProcessingException;
 import book.store.onlinebookstore.exception.EntityNotFoundException;
+import book.store.onlinebookstore.exception.IdempotencyKeyConflictException;
+import book.store.onlinebookstore.exception.IdempotencyKeyMismatchException;
+import book.store.onlinebookstore.exception.UnsupportedSortException;
 import book.store.onlinebookstore.mapper.OrderItemMapper;
 import book.store.onlinebookstore.mapper.OrderMapper;
+import book.store.onlinebookstore.mapper.OrderSummaryMapper;
 import book.store.onlinebookstore.model.CartItem;
 import book.store.onlinebookstore.model.Order;
+import book.store.onlinebookstore.model.OrderIdempotencyKey;
 import book.store.onlinebookstore.model.OrderItem;
+import book.store.onlinebookstore.model.OrderOutboxEvent;
 import book.store.onlinebookstore.model.ShoppingCart;
+import book.store.onlinebookstore.outbox.OrderOutboxRelay;
+import book.store.onlinebookstore.pricing.PriceBreakdown;
+import book.store.onlinebookstore.pricing.PricedLine;
+import book.store.onlinebookstore.pricing.PricingEngine;
+import book.store.onlinebookstore.repository.KeysetCursorCodec;
+import book.store.onlinebookstore.repository.order.OrderIdempotencyKeyRepository;
+import book.store.onlinebookstore.repository.order.OrderOutboxRepository;
 import book.store.onlinebookstore.repository.order.OrderRepository;
+import book.store.onlinebookstore.repository.order.OrderSummaryRepository;
 import book.store.onlinebookstore.repository.order.item.OrderItemRepository;
 import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
 import book.store.onlinebookstore.repository.user.UserRepository;
+import book.store.onlinebookstore.service.InventoryService;
 import book.store.onlinebookstore.service.OrderService;
-import java.math.BigDecimal;
+import book.store.onlinebookstore.service.OrderStatusService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "orderDate", "total");
+    private static final String SUMMARY_SORT_PROPERTY = "orderId";
+
     private final ShoppingCartRepository shoppingCartRepository;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
+    private final KeysetCursorCodec cursorCodec;
+    private final PricingEngine pricingEngine;
+    private final InventoryService inventoryService;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderOutboxRelay orderOutboxRelay;
+    private final ObjectMapper objectMapper;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderSummaryMapper orderSummaryMapper;
+    private final OrderStatusService orderStatusService;
 
     @Override
     @Transactional
-    public OrderDto placeOrder(Long userId, CreateOrderRequestDto requestDto) {
+    public OrderDto placeOrder(Long userId, String idempotencyKey,
+                               CreateOrderRequestDto requestDto) {
+        String payloadHash = idempotencyKey == null ? null : hashPayload(requestDto);
+        if (idempotencyKey != null && idempotencyKeyRepository.insertIfAbsent(userId,
+                idempotencyKey, payloadHash, LocalDateTime.now()) == 0) {
+            return getPlacedOrder(userId, idempotencyKey, payloadHash);
+        }
         ShoppingCart shoppingCart = shoppingCartRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Your shopping cart is empty"));
         Set<CartItem> cartItems = shoppingCart.getCartItems();
 
         Order newOrder = initNewOrder(requestDto, userId);
-        BigDecimal total = BigDecimal.ZERO;
-        Set<OrderItem> orderItems = cartItems.stream()
-                .map(cartItem -> getOrderItem(cartItem, newOrder, total))
-                .collect(Collectors.toSet());
-        newOrder.setOrderItems(orderItems);
+        PriceBreakdown<CartItem> priceBreakdown = pricingEngine.price(cartItems,
+                cartItem -> cartItem.getBook().getPrice(), CartItem::getQuantity);
+        for (PricedLine<CartItem> line : priceBreakdown.lines()) {
+            newOrder.getOrderItems().add(getOrderItem(line, newOrder));
+        }
+        newOrder.setTotal(priceBreakdown.total());
+        inventoryService.reserve(cartItems.stream()
+                .collect(Collectors.toMap(cartItem -> cartItem.getBook().getId(),
+                        CartItem::getQuantity, Integer::sum)));
         orderRepository.save(newOrder);
+        orderSummaryRepository.save(orderSummaryMapper.toOrderSummary(newOrder));
+        if (idempotencyKey != null) {
+            idempotencyKeyRepository.setOrderId(userId, idempotencyKey, newOrder.getId());
+        }
 
         shoppingCartRepository.deleteById(userId);
-        return orderMapper.toDto(newOrder);
+        OrderDto orderDto = orderMapper.toDto(newOrder);
+        publishOrderPlaced(orderDto);
+        return orderDto;
     }
 
     @Override
     public List<OrderDto> getOrders(Long userId, Pageable pageable) {
-        return orderRepository.findAllByUserId(userId, pageable).stream()
-                .map(orderMapper::toDto)
+        return findAllInOrder(orderRepository.findPageIdsByUserId(userId, pageable));
+    }
+
+    @Override
+    public CursorPageDto<OrderDto> getOrdersAfter(Long userId, String cursor, Pageable pageable) {
+        Sort sort = cursorCodec.resolveSort(pageable, SORTABLE_PROPERTIES,
+                Sort.by(Sort.Direction.DESC, "id"));
+        Window<Order> window = orderRepository.findAllByUserId(userId,
+                cursorCodec.decode(cursor, sort), Limit.of(pageable.getPageSize()), sort);
+        return new CursorPageDto<>(
+                findAllInOrder(window.stream().map(Order::getId).toList()),
+                cursorCodec.encode(window));
+    }
+
+    @Override
+    public List<OrderSummaryDto> getOrderSummaries(Long userId, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SUMMARY_SORT_PROPERTY.equals(order.getProperty())) {
+                throw new UnsupportedSortException("Can't sort order summaries by "
+                        + order.getProperty());
+            }
+        }
+        return orderSummaryRepository.findAllByUserId(userId, pageable).stream()
+                .map(orderSummaryMapper::toDto)
                 .toList();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<OrderItemDto> getOrderItemsByOrderId(Long userId, Long orderId) {
-        Order order = orderRepository.findByIdAndUserId(orderId, userId)
-                .orElseThrow(() -> new EntityNotFoundException("Can't find order by id "
-                        + orderId));
-        return order.getOrderItems().stream().map(orderItemMapper::toDto).toList();
+        List<OrderItem> orderItems = orderItemRepository
+                .findAllByOrderIdAndOrderUserIdOrderById(orderId, userId);
+        if (orderItems.isEmpty() && !orderRepository.existsByIdAndUserId(orderId, userId)) {
+            throw new EntityNotFoundException("Can't find order by id " + orderId);
+        }
+        return orderItems.stream().map(orderItemMapper::toDto).toList();
     }
 
     @Override
@@ -84,31 +167,90 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public OrderDto updateOrderStatus(Long orderId, UpdateOrderRequestDto requestDto) {
-        Order order = orderRepository.findById(orderId)
+        orderStatusService.updateOrderStatus(orderId, requestDto);
+        return orderMapper.toDto(orderRepository.findById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find order by id "
-                        + orderId));
-        order.setStatus(requestDto.status());
-        return orderMapper.toDto(order);
+                        + orderId)));
+    }
+
+    @Override
+    public OrderOutboxStatsDto getOutboxStats() {
+        return orderOutboxRelay.stats();
+    }
+
+    private void publishOrderPlaced(OrderDto orderDto) {
+        OrderOutboxEvent event = new OrderOutboxEvent();
+        event.setOrderId(orderDto.id());
+        event.setEventType(OrderOutboxEvent.EventType.ORDER_PLACED);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(orderDto));
+        } catch (JsonProcessingException e) {
+            throw new DataProcessingException("Can't serialize order " + orderDto.id(), e);
+        }
+        event.setCreatedAt(LocalDateTime.now());
+        event.setNextAttemptAt(event.getCreatedAt());
+        orderOutboxRepository.save(event);
+    }
+
+    private OrderDto getPlacedOrder(Long userId, String idempotencyKey, String payloadHash) {
+        OrderIdempotencyKey storedKey = idempotencyKeyRepository
+                .findById(new OrderIdempotencyKey.Key(userId, idempotencyKey))
+                .orElseThrow(() -> new IdempotencyKeyConflictException(
+                        "The order with Idempotency-Key " + idempotencyKey
+                                + " is still being placed"));
+        if (storedKey.getPayloadHash() != null
+                && !storedKey.getPayloadHash().equals(payloadHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key " + idempotencyKey
+                    + " was already used with a different request");
+        }
+        Long orderId = storedKey.getOrderId();
+        if (orderId == null) {
+            throw new IdempotencyKeyConflictException("The order with Idempotency-Key "
+                    + idempotencyKey + " is still being placed");
+        }
+        return orderMapper.toDto(orderRepository.findByIdAndUserId(orderId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find order by id "
+                        + orderId)));
+    }
+
+    private String hashPayload(CreateOrderRequestDto requestDto) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(requestDto));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException e) {
+            throw new DataProcessingException("Can't serialize order request", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private List<OrderDto> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> ordersById = orderRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return ids.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .map(orderMapper::toDto)
+                .toList();
     }
 
     private Order initNewOrder(CreateOrderRequestDto requestDto, Long userId) {
         Order order = new Order();
         order.setUser(userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find user by id" + userId)));
-        order.setOrderDate(LocalDateTime.now());
+        order.setOrderDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
         order.setStatus(Order.OrderStatus.PENDING);
         order.setShippingAddress(requestDto.shippingAddress());
-        order.setTotal(BigDecimal.ZERO);
         return order;
     }
 
-    private OrderItem getOrderItem(CartItem cartItem, Order order, BigDecimal total) {
-        OrderItem orderItem = orderItemMapper.toOrderItem(cartItem);
-        orderItem.setPrice(
-                orderItem.getPrice()
-                        .multiply(new BigDecimal(orderItem.getQuantity()))
-        );
-        order.setTotal(total.add(orderItem.getPrice()).add(order.getTotal()));
+    private OrderItem getOrderItem(PricedLine<CartItem> line, Order order) {
+        OrderItem orderItem = orderItemMapper.toOrderItem(line.item());
+        orderItem.setPrice(line.total());
         orderItem.setOrder(order);
         return orderItem;
     }
@@ -0,0 +1,135 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.dto.order.BulkOrderStatusUpdateDto;
+import book.store.onlinebookstore.dto.order.BulkUpdateOrderStatusRequestDto;
+import book.store.onlinebookstore.dto.order.OrderStatusDto;
+import book.store.onlinebookstore.dto.order.OrderStatusFilterDto;
+import book.store.onlinebookstore.dto.order.OrderStatusUpdateResultDto;
+import book.store.onlinebookstore.dto.order.OrderStatusUpdateResultDto.Outcome;
+import book.store.onlinebookstore.dto.order.UpdateOrderRequestDto;
+import book.store.onlinebookstore.exception.EntityNotFoundException;
+import book.store.onlinebookstore.exception.InvalidStatusTransitionException;
+import book.store.onlinebookstore.model.Order.OrderStatus;
+import book.store.onlinebookstore.repository.order.OrderRepository;
+import book.store.onlinebookstore.repository.order.OrderStatusView;
+import book.store.onlinebookstore.repository.order.OrderSummaryRepository;
+import book.store.onlinebookstore.service.OrderStatusService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class OrderStatusServiceImpl implements OrderStatusService {
+    private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderStatusServiceImpl(OrderRepository orderRepository,
+                                  OrderSummaryRepository orderSummaryRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${orders.bulk-status.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional
+    public OrderStatusDto updateOrderStatus(Long orderId, UpdateOrderRequestDto requestDto) {
+        OrderStatus target = requestDto.status();
+        if (orderRepository.updateStatus(orderId, target, target.getAllowedSources(),
+                target == OrderStatus.CANCELLED) == 1) {
+            orderSummaryRepository.updateStatus(orderId, target);
+            return new OrderStatusDto(orderId, target);
+        }
+        OrderStatus current = orderRepository.findStatusById(orderId)
+                .map(OrderStatusView::getStatus)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find order by id "
+                        + orderId));
+        if (current != target) {
+            throw new InvalidStatusTransitionException("Can't change status of order "
+                    + orderId + " from " + current + " to " + target);
+        }
+        return new OrderStatusDto(orderId, current);
+    }
+
+    @Override
+    public BulkOrderStatusUpdateDto updateOrderStatuses(
+            BulkUpdateOrderStatusRequestDto requestDto) {
+        List<OrderStatusUpdateResultDto> results = requestDto.ids() != null
+                ? updateByIds(requestDto.ids().stream().distinct().toList(), requestDto.status())
+                : updateByFilter(requestDto.filter(), requestDto.status());
+        int updated = (int) results.stream()
+                .filter(result -> result.outcome() == Outcome.UPDATED)
+                .count();
+        return new BulkOrderStatusUpdateDto(requestDto.status(), updated, results);
+    }
+
+    private List<OrderStatusUpdateResultDto> updateByIds(List<Long> ids, OrderStatus target) {
+        List<OrderStatusUpdateResultDto> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            results.addAll(transactionTemplate.execute(transaction -> updateChunk(chunk,
+                    orderRepository.findStatusesForUpdate(chunk), target)));
+        }
+        return results;
+    }
+
+    private List<OrderStatusUpdateResultDto> updateByFilter(OrderStatusFilterDto filter,
+                                                            OrderStatus target) {
+        List<OrderStatusUpdateResultDto> results = new ArrayList<>();
+        List<OrderStatusUpdateResultDto> chunkResults;
+        do {
+            long afterId = results.isEmpty() ? 0L : results.get(results.size() - 1).orderId();
+            chunkResults = transactionTemplate.execute(transaction -> {
+                List<OrderStatusView> rows = orderRepository.findStatusesForUpdate(
+                        filter.status(), filter.placedBefore(), afterId,
+                        PageRequest.ofSize(chunkSize));
+                return updateChunk(rows.stream().map(OrderStatusView::getId).toList(),
+                        rows, target);
+            });
+            results.addAll(chunkResults);
+        } while (chunkResults.size() == chunkSize);
+        return results;
+    }
+
+    private List<OrderStatusUpdateResultDto> updateChunk(List<Long> ids,
+                                                         List<OrderStatusView> rows,
+                                                         OrderStatus target) {
+        Map<Long, OrderStatus> statuses = rows.stream()
+                .collect(Collectors.toMap(OrderStatusView::getId, OrderStatusView::getStatus));
+        List<OrderStatusUpdateResultDto> results = new ArrayList<>(ids.size());
+        List<Long> transitions = new ArrayList<>();
+        for (Long id : ids) {
+            OrderStatus current = statuses.get(id);
+            Outcome outcome = getOutcome(current, target);
+            if (outcome == Outcome.UPDATED) {
+                transitions.add(id);
+            }
+            results.add(new OrderStatusUpdateResultDto(id, outcome, current));
+        }
+        if (!transitions.isEmpty()) {
+            orderRepository.updateStatus(transitions, target, target == OrderStatus.CANCELLED);
+            orderSummaryRepository.updateStatus(transitions, target);
+        }
+        return results;
+    }
+
+    private Outcome getOutcome(OrderStatus current, OrderStatus target) {
+        if (current == null) {
+            return Outcome.NOT_FOUND;
+        }
+        if (current == target) {
+            return Outcome.UNCHANGED;
+        }
+        return current.canTransitionTo(target) ? Outcome.UPDATED : Outcome.INVALID_TRANSITION;
+    }
+}
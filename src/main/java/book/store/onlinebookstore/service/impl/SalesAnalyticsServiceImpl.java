@@ -0,0 +1,55 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.dto.analytics.AuthorRevenueDto;
+import book.store.onlinebookstore.dto.analytics.BookSalesDto;
+import book.store.onlinebookstore.dto.analytics.CategoryRevenueDto;
+import book.store.onlinebookstore.dto.analytics.DailyRevenueDto;
+import book.store.onlinebookstore.dto.analytics.SalesRollupStatusDto;
+import book.store.onlinebookstore.mapper.SalesReportMapper;
+import book.store.onlinebookstore.repository.analytics.SalesRollupRepository;
+import book.store.onlinebookstore.service.SalesAnalyticsService;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+    private final SalesRollupRepository rollupRepository;
+    private final SalesReportMapper salesReportMapper;
+    private final SalesRollupJob salesRollupJob;
+
+    @Override
+    public List<DailyRevenueDto> getDailyRevenue(LocalDate from, LocalDate to) {
+        return rollupRepository.findDailySales(from, to).stream()
+                .map(salesReportMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<CategoryRevenueDto> getRevenueByCategory(LocalDate from, LocalDate to) {
+        return rollupRepository.findCategorySales(from, to).stream()
+                .map(salesReportMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<AuthorRevenueDto> getRevenueByAuthor(LocalDate from, LocalDate to) {
+        return rollupRepository.findAuthorSales(from, to).stream()
+                .map(salesReportMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<BookSalesDto> getTopBooks(LocalDate from, LocalDate to, int limit) {
+        return rollupRepository.findTopBooks(from, to, limit).stream()
+                .map(salesReportMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public SalesRollupStatusDto refresh() {
+        return new SalesRollupStatusDto(salesRollupJob.refresh());
+    }
+}
@@ -0,0 +1,69 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.exception.EntityNotFoundException;
+import book.store.onlinebookstore.model.SalesRollupWatermark;
+import book.store.onlinebookstore.repository.analytics.SalesRollupRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class SalesRollupJob {
+    private final SalesRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lag;
+    private final long batchSize;
+
+    public SalesRollupJob(SalesRollupRepository rollupRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${analytics.rollup.lag:PT5M}") Duration lag,
+                          @Value("${analytics.rollup.batch-size:10000}") long batchSize) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lag = lag;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${analytics.rollup.refresh-interval:PT5M}",
+            fixedDelayString = "${analytics.rollup.refresh-interval:PT5M}")
+    public long refresh() {
+        LocalDateTime until = LocalDateTime.now().minus(lag).truncatedTo(ChronoUnit.SECONDS);
+        RollupBatch batch;
+        do {
+            batch = transactionTemplate.execute(status -> refreshBatch(until));
+        } while (batch.hasMore());
+        return batch.processedSeq();
+    }
+
+    private RollupBatch refreshBatch(LocalDateTime until) {
+        SalesRollupWatermark watermark = rollupRepository
+                .findForUpdate(SalesRollupWatermark.ORDERS)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find sales rollup watermark "
+                        + SalesRollupWatermark.ORDERS));
+        long from = watermark.getProcessedSeq();
+        if (rollupRepository.countRollupReversals(from) > 0) {
+            rollupRepository.subtractDailySales(from);
+            rollupRepository.subtractBookSales(from);
+            rollupRepository.subtractCategorySales(from);
+            rollupRepository.subtractAuthorSales(from);
+        }
+        long lastSeq = rollupRepository.findLastOrderSeq(from, until).orElse(from);
+        long to = Math.min(lastSeq, from + batchSize);
+        if (to > from) {
+            rollupRepository.rollUpDailySales(from, to);
+            rollupRepository.rollUpBookSales(from, to);
+            rollupRepository.rollUpCategorySales(from, to);
+            rollupRepository.rollUpAuthorSales(from, to);
+        }
+        rollupRepository.clearRollupReversals(to);
+        watermark.setProcessedSeq(to);
+        return new RollupBatch(to, to < lastSeq);
+    }
+
+    private record RollupBatch(long processedSeq, boolean hasMore) {
+    }
+}
@@ -1,20 +1,28 @@
 package book.store.onlinebookstore.service.impl;
 
+import book.store.onlinebookstore.dto.cartitem.CartItemOperationDto;
 import book.store.onlinebookstore.dto.cartitem.CreateCartItemRequestDto;
 import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartSummaryDto;
 import book.store.onlinebookstore.exception.EntityNotFoundException;
-import book.store.onlinebookstore.mapper.CartItemMapper;
 import book.store.onlinebookstore.mapper.ShoppingCartMapper;
 import book.store.onlinebookstore.model.Book;
 import book.store.onlinebookstore.model.CartItem;
 import book.store.onlinebookstore.model.ShoppingCart;
 import book.store.onlinebookstore.model.User;
+import book.store.onlinebookstore.pricing.PricingEngine;
 import book.store.onlinebookstore.repository.book.BookRepository;
 import book.store.onlinebookstore.repository.cartitem.CartItemRepository;
 import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
-import book.store.onlinebookstore.repository.user.UserRepository;
 import book.store.onlinebookstore.service.ShoppingCartService;
-import java.util.Optional;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -26,79 +34,146 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final ShoppingCartRepository shoppingCartRepository;
     private final ShoppingCartMapper shoppingCartMapper;
     private final CartItemRepository cartItemRepository;
-    private final CartItemMapper cartItemMapper;
     private final BookRepository bookRepository;
-    private final UserRepository userRepository;
+    private final PricingEngine pricingEngine;
 
     @Override
     @Transactional
     public ShoppingCartDto addCartItem(CreateCartItemRequestDto requestDto,
                                        Authentication authentication) {
-        if (!bookRepository.existsById(requestDto.bookId())) {
+        Long shoppingCartId = getShoppingCartId(authentication);
+        if (shoppingCartRepository.addBookToSummary(shoppingCartId, requestDto.bookId(),
+                requestDto.quantity()) == 0) {
             throw new EntityNotFoundException("Can't find book by id " + requestDto.bookId());
         }
-        User user = findUserFromAuthentication(authentication);
-        Optional<CartItem> cartItemByBookId = cartItemRepository
-                .findCartItemByShoppingCartIdAndBookId(user.getId(), requestDto.bookId());
-        if (cartItemByBookId.isPresent()) {
-            CartItem cartItem = cartItemByBookId.get();
-            return updateCartItem(authentication, cartItem.getId(), requestDto.quantity());
-        }
-
-        CartItem cartItem = cartItemMapper.toCartItem(requestDto);
-        Book bookFromDb = bookRepository.getReferenceById(requestDto.bookId());
-        cartItem.setBook(bookFromDb);
-        ShoppingCart shoppingCart = getOrCreateShoppingCart(user);
-        shoppingCart.addCartItem(cartItem);
-
-        cartItemRepository.save(cartItem);
-        return shoppingCartMapper.toShoppingCartDto(shoppingCart);
+        cartItemRepository.upsert(shoppingCartId, requestDto.bookId(), requestDto.quantity());
+        return getShoppingCart(authentication);
     }
 
     @Override
     public ShoppingCartDto getShoppingCart(Authentication authentication) {
-        User user = findUserFromAuthentication(authentication);
-        ShoppingCart shoppingCart = shoppingCartRepository.findById(user.getId())
+        ShoppingCart shoppingCart = shoppingCartRepository
+                .findById(getShoppingCartId(authentication))
                 .orElseThrow(() -> new EntityNotFoundException("The shopping cart doesn’t exist"));
         return shoppingCartMapper.toShoppingCartDto(shoppingCart);
     }
 
+    @Override
+    public ShoppingCartSummaryDto getShoppingCartSummary(Authentication authentication) {
+        Long shoppingCartId = getShoppingCartId(authentication);
+        return shoppingCartRepository.findSummaryById(shoppingCartId)
+                .orElseGet(() -> new ShoppingCartSummaryDto(shoppingCartId, 0, 0,
+                        BigDecimal.ZERO));
+    }
+
     @Override
     @Transactional
     public ShoppingCartDto updateCartItem(Authentication authentication, Long itemId,
                                           Integer quantity) {
-        User user = findUserFromAuthentication(authentication);
-        CartItem cartItem = cartItemRepository.findByIdAndShoppingCartId(itemId, user.getId())
+        Long shoppingCartId = getShoppingCartId(authentication);
+        ShoppingCart shoppingCart = shoppingCartRepository.findById(shoppingCartId)
+                .orElseThrow(() -> new EntityNotFoundException("The shopping cart doesn’t exist"));
+        CartItem cartItem = cartItemRepository
+                .findByIdAndShoppingCartIdForUpdate(itemId, shoppingCartId)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find item by id "
                         + itemId + " in your shopping cart"));
+        updateSummary(shoppingCartId, 0, quantity - cartItem.getQuantity(),
+                cartItem.getBook().getPrice());
         cartItem.setQuantity(quantity);
-        return shoppingCartMapper.toShoppingCartDto(cartItem.getShoppingCart());
+        return shoppingCartMapper.toShoppingCartDto(shoppingCart);
     }
 
     @Override
     @Transactional
     public ShoppingCartDto deleteCartItemById(Authentication authentication, Long itemId) {
-        User user = findUserFromAuthentication(authentication);
-        ShoppingCart shoppingCart = shoppingCartRepository.findById(user.getId())
+        Long shoppingCartId = getShoppingCartId(authentication);
+        ShoppingCart shoppingCart = shoppingCartRepository.findById(shoppingCartId)
                 .orElseThrow(() -> new EntityNotFoundException("The shopping cart doesn’t exist"));
-        CartItem cartItem = cartItemRepository.findByIdAndShoppingCartId(itemId, user.getId())
+        CartItem cartItem = cartItemRepository
+                .findByIdAndShoppingCartIdForUpdate(itemId, shoppingCartId)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find item by id "
                         + itemId + " in your shopping cart"));
         shoppingCart.removeCartItem(cartItem);
+        updateSummary(shoppingCartId, -1, -cartItem.getQuantity(),
+                cartItem.getBook().getPrice());
+        return shoppingCartMapper.toShoppingCartDto(shoppingCart);
+    }
+
+    @Override
+    @Transactional
+    public ShoppingCartDto applyCartItemOperations(Authentication authentication,
+                                                   List<CartItemOperationDto> operations) {
+        Long shoppingCartId = getShoppingCartId(authentication);
+        shoppingCartRepository.createIfAbsent(shoppingCartId);
+        ShoppingCart shoppingCart = shoppingCartRepository.findById(shoppingCartId)
+                .orElseThrow(() -> new EntityNotFoundException("The shopping cart doesn’t exist"));
+        Map<Long, CartItem> cartItems = new HashMap<>();
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CartItem cartItem : shoppingCart.getCartItems()) {
+            cartItems.put(cartItem.getBook().getId(), cartItem);
+            quantities.put(cartItem.getBook().getId(), cartItem.getQuantity());
+        }
+        operations.forEach(operation -> applyOperation(quantities, operation));
+        quantities.values().removeIf(quantity -> quantity == 0);
+        List<Long> newBookIds = quantities.keySet().stream()
+                .filter(bookId -> !cartItems.containsKey(bookId))
+                .toList();
+        List<Book> newBooks = findAllBooksById(newBookIds);
+        cartItems.forEach((bookId, cartItem) -> {
+            if (!quantities.containsKey(bookId)) {
+                shoppingCart.removeCartItem(cartItem);
+            }
+        });
+        cartItems.forEach((bookId, cartItem) -> {
+            Integer quantity = quantities.get(bookId);
+            if (quantity != null && !quantity.equals(cartItem.getQuantity())) {
+                cartItem.setQuantity(quantity);
+            }
+        });
+        for (Book book : newBooks) {
+            CartItem cartItem = new CartItem();
+            cartItem.setBook(book);
+            cartItem.setQuantity(quantities.get(book.getId()));
+            shoppingCart.addCartItem(cartItem);
+        }
+        shoppingCartRepository.recalculateSummary(shoppingCartId);
         return shoppingCartMapper.toShoppingCartDto(shoppingCart);
     }
 
-    private ShoppingCart getOrCreateShoppingCart(User user) {
-        return shoppingCartRepository.findById(user.getId())
-                .orElseGet(() -> {
-                    ShoppingCart newShoppingCart = new ShoppingCart();
-                    newShoppingCart.setUser(userRepository.getReferenceById(user.getId()));
-                    return shoppingCartRepository.save(newShoppingCart);
-                });
+    private void applyOperation(Map<Long, Integer> quantities, CartItemOperationDto operation) {
+        int quantity = Objects.requireNonNullElse(operation.quantity(), 0);
+        switch (operation.type()) {
+            case ADD -> quantities.merge(operation.bookId(), quantity, Integer::sum);
+            case SET_QUANTITY -> quantities.put(operation.bookId(), quantity);
+            case REMOVE -> quantities.remove(operation.bookId());
+            default -> throw new IllegalArgumentException("Unknown cart item operation "
+                    + operation.type());
+        }
+    }
+
+    private List<Book> findAllBooksById(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        List<Book> books = bookRepository.findAllById(bookIds);
+        if (books.size() != bookIds.size()) {
+            Set<Long> foundIds = books.stream()
+                    .map(Book::getId)
+                    .collect(Collectors.toSet());
+            List<Long> missingIds = bookIds.stream()
+                    .filter(bookId -> !foundIds.contains(bookId))
+                    .toList();
+            throw new EntityNotFoundException("Can't find books by ids " + missingIds);
+        }
+        return books;
+    }
+
+    private void updateSummary(Long shoppingCartId, int items, int quantity, BigDecimal price) {
+        shoppingCartRepository.addToSummary(shoppingCartId, items, quantity,
+                pricingEngine.lineTotal(price, quantity));
     }
 
-    private User findUserFromAuthentication(Authentication authentication) {
-        return userRepository.findUserByEmail(authentication.getName())
-                .orElseThrow(() -> new EntityNotFoundException("Can't find user"));
+    private Long getShoppingCartId(Authentication authentication) {
+        return ((User) authentication.getPrincipal()).getId();
     }
 }
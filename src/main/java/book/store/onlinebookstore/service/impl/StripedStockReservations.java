@@ -0,0 +1,103 @@
+package book.store.onlinebookstore.service.impl;
+
+import book.store.onlinebookstore.cache.CacheLoads;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class StripedStockReservations {
+    private final boolean enabled;
+    private final int stripes;
+    private final AsyncCache<Long, StripedCounter> counters;
+
+    public StripedStockReservations(
+            @Value("${inventory.reservations.enabled:false}") boolean enabled,
+            @Value("${inventory.reservations.stripes:8}") int stripes,
+            @Value("${inventory.reservations.max-size:10000}") long maxSize,
+            @Value("${inventory.reservations.ttl:PT1M}") Duration ttl) {
+        this.enabled = enabled;
+        this.stripes = stripes;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public boolean tryReserve(Long bookId, int quantity, Function<Long, Integer> stockLoader) {
+        if (!enabled) {
+            return true;
+        }
+        StripedCounter counter = CacheLoads.get(counters, bookId, id -> {
+            Integer stock = stockLoader.apply(id);
+            return stock == null ? null : new StripedCounter(stripes, stock);
+        });
+        if (counter == null) {
+            return true;
+        }
+        if (!counter.tryAcquire(quantity)) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status != STATUS_COMMITTED) {
+                                counter.release(quantity);
+                            }
+                        }
+                    });
+        }
+        return true;
+    }
+
+    public void invalidate(Long bookId) {
+        counters.synchronous().invalidate(bookId);
+    }
+
+    private static class StripedCounter {
+        private final AtomicIntegerArray available;
+
+        private StripedCounter(int stripes, int stock) {
+            available = new AtomicIntegerArray(stripes);
+            for (int i = 0; i < stripes; i++) {
+                available.set(i, stock / stripes + (i < stock % stripes ? 1 : 0));
+            }
+        }
+
+        private boolean tryAcquire(int quantity) {
+            int start = ThreadLocalRandom.current().nextInt(available.length());
+            int acquired = 0;
+            for (int i = 0; i < available.length() && acquired < quantity; i++) {
+                int stripe = (start + i) % available.length();
+                int current;
+                int taken;
+                do {
+                    current = available.get(stripe);
+                    taken = Math.min(current, quantity - acquired);
+                } while (taken > 0 && !available.compareAndSet(stripe, current, current - taken));
+                acquired += Math.max(taken, 0);
+            }
+            if (acquired < quantity) {
+                release(acquired);
+                return false;
+            }
+            return true;
+        }
+
+        private void release(int quantity) {
+            if (quantity > 0) {
+                available.addAndGet(ThreadLocalRandom.current().nextInt(available.length()),
+                        quantity);
+            }
+        }
+    }
+}
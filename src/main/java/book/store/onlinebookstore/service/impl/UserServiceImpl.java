@@ -1,17 +1,24 @@
 package book.store.onlinebookstore.service.impl;
 
+import book.store.onlinebookstore.dto.user.UpdateUserRolesRequestDto;
 import book.store.onlinebookstore.dto.user.UserRegistrationRequestDto;
 import book.store.onlinebookstore.dto.user.UserRegistrationResponseDto;
+import book.store.onlinebookstore.dto.user.UserRolesDto;
+import book.store.onlinebookstore.exception.EntityNotFoundException;
 import book.store.onlinebookstore.exception.UserRegistrationException;
 import book.store.onlinebookstore.mapper.UserMapper;
 import book.store.onlinebookstore.model.Role;
 import book.store.onlinebookstore.model.User;
 import book.store.onlinebookstore.repository.role.RoleRepository;
 import book.store.onlinebookstore.repository.user.UserRepository;
+import book.store.onlinebookstore.security.UserPrincipalCache;
 import book.store.onlinebookstore.service.UserService;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +27,7 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     public UserRegistrationResponseDto register(UserRegistrationRequestDto registrationRequest)
@@ -32,4 +40,21 @@ public class UserServiceImpl implements UserService {
         user.getRoles().add(roleRepository.getRoleByName(Role.RoleName.USER));
         return userMapper.toUserResponseDto(userRepository.save(user));
     }
+
+    @Override
+    @Transactional
+    public UserRolesDto updateRoles(Long id, UpdateUserRolesRequestDto requestDto) {
+        User user = userRepository.findUserById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find user by id " + id));
+        List<Role> roles = roleRepository.findAllByNameIn(requestDto.roles());
+        if (roles.size() != requestDto.roles().size()) {
+            throw new EntityNotFoundException("Can't find roles " + requestDto.roles());
+        }
+        user.getRoles().retainAll(roles);
+        user.getRoles().addAll(roles);
+        userPrincipalCache.evictAfterCommit(user.getEmail());
+        return new UserRolesDto(user.getId(), user.getEmail(), user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toUnmodifiableSet()));
+    }
 }
@@ -0,0 +1,227 @@
+package book.store.onlinebookstore.analytics;
+
+import static book.store.onlinebookstore.metrics.SqlStatementBudgets.sqlStatementBudgets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import book.store.onlinebookstore.dto.analytics.AuthorRevenueDto;
+import book.store.onlinebookstore.dto.analytics.BookSalesDto;
+import book.store.onlinebookstore.dto.analytics.CategoryRevenueDto;
+import book.store.onlinebookstore.dto.analytics.DailyRevenueDto;
+import book.store.onlinebookstore.dto.order.BulkUpdateOrderStatusRequestDto;
+import book.store.onlinebookstore.dto.order.UpdateOrderRequestDto;
+import book.store.onlinebookstore.model.Order.OrderStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {"classpath:database.scripts/category/add-three-books-and-categories.sql",
+        "classpath:database.scripts/user/add-user.sql",
+        "classpath:database.scripts/analytics/add-orders.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database.scripts/analytics/delete-sales-rollups.sql",
+        "classpath:database.scripts/order/delete-orders.sql",
+        "classpath:database.scripts/category/delete-three-books-and-categories.sql",
+        "classpath:database.scripts/user/delete-user.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SalesAnalyticsControllerTest {
+    private static final String FROM = "2024-01-01";
+    private static final String TO = "2024-01-31";
+    private static MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .apply(sqlStatementBudgets())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Check if repeated refreshes count every order once in daily revenue")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @SneakyThrows
+    void getDailyRevenue_RepeatedRefresh_CountsOrdersOnce() {
+        //given
+        refresh();
+        refresh();
+
+        //when
+        List<DailyRevenueDto> actual = getReport(get("/api/analytics/sales/daily"),
+                new TypeReference<>() {
+                });
+
+        //then
+        List<DailyRevenueDto> expected = List.of(
+                new DailyRevenueDto(LocalDate.of(2024, 1, 1), 2, 4, new BigDecimal("703.96")),
+                new DailyRevenueDto(LocalDate.of(2024, 1, 2), 1, 3, new BigDecimal("902.97")));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Check if an order committed after a refresh with an earlier date is added")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @SneakyThrows
+    void getDailyRevenue_LateCommittedOrder_AddsOrder() {
+        //given
+        refresh();
+        new ResourceDatabasePopulator(new ClassPathResource(
+                "database.scripts/analytics/add-late-order.sql")).execute(dataSource);
+        refresh();
+
+        //when
+        List<DailyRevenueDto> actual = getReport(get("/api/analytics/sales/daily"),
+                new TypeReference<>() {
+                });
+
+        //then
+        List<DailyRevenueDto> expected = List.of(
+                new DailyRevenueDto(LocalDate.of(2024, 1, 1), 3, 6, new BigDecimal("905.94")),
+                new DailyRevenueDto(LocalDate.of(2024, 1, 2), 1, 3, new BigDecimal("902.97")));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Check if revenue is reported by category and by author")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @SneakyThrows
+    void getRevenueByCategoryAndAuthor_RefreshedRollups_ReturnsRevenue() {
+        //given
+        refresh();
+
+        //when
+        List<CategoryRevenueDto> categories = getReport(
+                get("/api/analytics/sales/categories"), new TypeReference<>() {
+                });
+        List<AuthorRevenueDto> authors = getReport(get("/api/analytics/sales/authors"),
+                new TypeReference<>() {
+                });
+
+        //then
+        List<CategoryRevenueDto> expected = List.of(
+                new CategoryRevenueDto(1L, "Test category 1", 4, new BigDecimal("1003.96")),
+                new CategoryRevenueDto(2L, "Test category 2", 4, new BigDecimal("703.96")),
+                new CategoryRevenueDto(3L, "Test category 3", 3, new BigDecimal("602.97")));
+        assertEquals(expected, categories);
+        assertEquals(List.of(new AuthorRevenueDto("test-author", 7,
+                new BigDecimal("1606.93"))), authors);
+    }
+
+    @Test
+    @DisplayName("Check if top books are limited and ordered by revenue")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @SneakyThrows
+    void getTopBooks_Limit_ReturnsBestSellingBooks() {
+        //given
+        refresh();
+
+        //when
+        List<BookSalesDto> actual = getReport(get("/api/analytics/sales/top-books")
+                .param("limit", "2"), new TypeReference<>() {
+                });
+
+        //then
+        List<BookSalesDto> expected = List.of(
+                new BookSalesDto(3L, "test-book3", 3, new BigDecimal("902.97")),
+                new BookSalesDto(2L, "test-book2", 3, new BigDecimal("602.97")));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Check if an order cancelled after a refresh is subtracted from the rollups")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @SneakyThrows
+    void getDailyRevenue_OrderCancelledAfterRefresh_SubtractsOrder() {
+        //given
+        refresh();
+        mockMvc.perform(patch("/api/orders/203")
+                        .content(objectMapper.writeValueAsString(
+                                new UpdateOrderRequestDto(OrderStatus.CANCELLED)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        refresh();
+
+        //when
+        List<DailyRevenueDto> daily = getReport(get("/api/analytics/sales/daily"),
+                new TypeReference<>() {
+                });
+        List<BookSalesDto> topBooks = getReport(get("/api/analytics/sales/top-books"),
+                new TypeReference<>() {
+                });
+
+        //then
+        assertEquals(List.of(new DailyRevenueDto(LocalDate.of(2024, 1, 1), 2, 4,
+                new BigDecimal("703.96"))), daily);
+        assertEquals(List.of(
+                new BookSalesDto(2L, "test-book2", 3, new BigDecimal("602.97")),
+                new BookSalesDto(1L, "test-book1", 1, new BigDecimal("100.99"))), topBooks);
+    }
+
+    @Test
+    @DisplayName("Check if orders cancelled before a refresh are left out of the rollups")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @SneakyThrows
+    void getRevenueByAuthor_OrderCancelledBeforeRefresh_ExcludesOrder() {
+        //given
+        mockMvc.perform(patch("/api/orders/status")
+                        .content(objectMapper.writeValueAsString(
+                                new BulkUpdateOrderStatusRequestDto(OrderStatus.CANCELLED,
+                                        List.of(203L), null)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        refresh();
+
+        //when
+        List<AuthorRevenueDto> actual = getReport(get("/api/analytics/sales/authors"),
+                new TypeReference<>() {
+                });
+
+        //then
+        assertEquals(List.of(new AuthorRevenueDto("test-author", 4,
+                new BigDecimal("703.96"))), actual);
+    }
+
+    @SneakyThrows
+    private void refresh() {
+        mockMvc.perform(post("/api/analytics/sales/refresh"))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    private <T> List<T> getReport(MockHttpServletRequestBuilder request,
+                                  TypeReference<List<T>> type) {
+        MvcResult result = mockMvc.perform(request.param("from", FROM).param("to", TO))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), type);
+    }
+}
@@ -0,0 +1,127 @@
+package book.store.onlinebookstore.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import book.store.onlinebookstore.model.SalesRollupWatermark;
+import book.store.onlinebookstore.repository.analytics.SalesRollupRepository;
+import book.store.onlinebookstore.service.impl.SalesRollupJob;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class SalesRollupJobTest {
+    private static final long START = 100L;
+    private static final long BATCH_SIZE = 50L;
+
+    @Mock
+    private SalesRollupRepository rollupRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private SalesRollupWatermark watermark;
+    private SalesRollupJob salesRollupJob;
+
+    @BeforeEach
+    void setUp() {
+        salesRollupJob = new SalesRollupJob(rollupRepository, transactionTemplate,
+                Duration.ofMinutes(5), BATCH_SIZE);
+        watermark = new SalesRollupWatermark();
+        watermark.setName(SalesRollupWatermark.ORDERS);
+        watermark.setProcessedSeq(START);
+        Mockito.when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation
+                        .<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(rollupRepository.findForUpdate(SalesRollupWatermark.ORDERS))
+                .thenReturn(Optional.of(watermark));
+    }
+
+    @Test
+    @DisplayName("Check if the refresh rolls up new orders in batches by insert sequence")
+    void refresh_NewOrders_RollsUpBatchesBySequence() {
+        //given
+        long batchEnd = START + BATCH_SIZE;
+        Mockito.when(rollupRepository.findLastOrderSeq(eq(START), any()))
+                .thenReturn(Optional.of(START + 70));
+        Mockito.when(rollupRepository.findLastOrderSeq(eq(batchEnd), any()))
+                .thenReturn(Optional.of(START + 70));
+
+        //when
+        long actual = salesRollupJob.refresh();
+
+        //then
+        assertEquals(START + 70, actual);
+        assertEquals(START + 70, watermark.getProcessedSeq());
+        verify(rollupRepository).rollUpDailySales(START, batchEnd);
+        verify(rollupRepository).rollUpBookSales(START, batchEnd);
+        verify(rollupRepository).rollUpCategorySales(START, batchEnd);
+        verify(rollupRepository).rollUpAuthorSales(START, batchEnd);
+        verify(rollupRepository).rollUpDailySales(batchEnd, START + 70);
+        verify(rollupRepository, Mockito.times(2)).rollUpDailySales(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Check if the refresh only looks for orders placed before the lag")
+    void refresh_NewOrders_BoundsOrdersByLag() {
+        //given
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.when(rollupRepository.findLastOrderSeq(eq(START), until.capture()))
+                .thenReturn(Optional.empty());
+
+        //when
+        salesRollupJob.refresh();
+
+        //then
+        assertFalse(until.getValue().isAfter(LocalDateTime.now().minusMinutes(5)));
+    }
+
+    @Test
+    @DisplayName("Check if the refresh without new orders keeps the watermark")
+    void refresh_NoOrders_KeepsWatermark() {
+        //given
+        Mockito.when(rollupRepository.findLastOrderSeq(eq(START), any()))
+                .thenReturn(Optional.empty());
+
+        //when
+        long actual = salesRollupJob.refresh();
+
+        //then
+        assertEquals(START, actual);
+        assertEquals(START, watermark.getProcessedSeq());
+        verify(rollupRepository, Mockito.never()).rollUpDailySales(anyLong(), anyLong());
+        verify(rollupRepository, Mockito.never()).subtractDailySales(anyLong());
+    }
+
+    @Test
+    @DisplayName("Check if orders cancelled after their rollup are subtracted and cleared")
+    void refresh_CancelledRolledUpOrders_SubtractsAndClearsReversals() {
+        //given
+        Mockito.when(rollupRepository.countRollupReversals(START)).thenReturn(1L);
+        Mockito.when(rollupRepository.findLastOrderSeq(eq(START), any()))
+                .thenReturn(Optional.empty());
+
+        //when
+        long actual = salesRollupJob.refresh();
+
+        //then
+        verify(rollupRepository).subtractDailySales(START);
+        verify(rollupRepository).subtractBookSales(START);
+        verify(rollupRepository).subtractCategorySales(START);
+        verify(rollupRepository).subtractAuthorSales(START);
+        verify(rollupRepository).clearRollupReversals(actual);
+    }
+}
@@ -1,7 +1,9 @@
 package book.store.onlinebookstore.book;
 
+import static book.store.onlinebookstore.metrics.SqlStatementBudgets.sqlStatementBudgets;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -10,15 +12,26 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import book.store.onlinebookstore.dto.book.BookDto;
+import book.store.onlinebookstore.dto.book.BookImportErrorDto;
+import book.store.onlinebookstore.dto.book.BookImportResultDto;
 import book.store.onlinebookstore.dto.book.CreateBookRequestDto;
 import book.store.onlinebookstore.dto.book.UpdateBookRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
+import book.store.onlinebookstore.metrics.SqlStatementCountFilter;
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.search.BookSearchIndex;
+import book.store.onlinebookstore.service.impl.BookDtoCache;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Set;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -41,15 +54,28 @@ public class BookControllerTest {
     protected static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookDtoCache bookDtoCache;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
 
     @BeforeAll
     static void beforeAll(@Autowired WebApplicationContext applicationContext) {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(applicationContext)
                 .apply(springSecurity())
+                .apply(sqlStatementBudgets())
                 .build();
     }
 
+    @AfterEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+        bookDtoCache.evictAll();
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
     @DisplayName("Check creating book")
@@ -133,6 +159,37 @@ public class BookControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @DisplayName("Check if a page of books is read by ids and loads only the books of that page")
+    @WithMockUser
+    @Sql(scripts = "classpath:database.scripts/category/add-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/category/delete-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void getAll_PageOfTwo_LoadsOnlyTwoBooks() {
+        //given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/books")
+                        .param("page", "0")
+                        .param("size", "2")
+                        .param("sort", "id"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        List<BookDto> actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+        assertEquals(List.of(1L, 2L), actual.stream().map(BookDto::getId).toList());
+        assertEquals(Set.of(1L, 2L), actual.get(0).getCategoriesIds());
+        assertEquals("2", result.getResponse().getHeader(SqlStatementCountFilter.HEADER_NAME));
+        assertEquals(2, statistics.getEntityStatistics(Book.class.getName()).getLoadCount());
+    }
+
     @Test
     @DisplayName("Check if get by id returns book dto")
     @WithMockUser
@@ -228,6 +285,7 @@ public class BookControllerTest {
     @SneakyThrows
     void search_ValidValues_ReturnsListOfBooks() {
         //given
+        bookSearchIndex.rebuild();
         BookDto book1 = new BookDto();
         book1.setId(1L);
         book1.setTitle("test-book1");
@@ -258,4 +316,202 @@ public class BookControllerTest {
         assertEquals(expected.size(), actual.size());
         assertEquals(expected, actual);
     }
+
+    @Test
+    @DisplayName("Check if CSV import upserts books by isbn and reports invalid rows")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = {"classpath:database.scripts/category/add-three-categories.sql",
+            "classpath:database.scripts/book/add-one-book.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/category/delete-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void importBooks_CsvWithInvalidRows_UpsertsValidRows() {
+        //given
+        String csv = """
+                title,author,isbn,price,categoriesIds,description
+                Updated book,New author,123-123-0001,10.50,1;2,Updated
+                Second book,Author,123-123-0002,20.00,3,
+                Bad price,Author,123-123-0003,-1,1,
+                Unknown category,Author,123-123-0004,5.00,99,
+                """;
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/books/import")
+                        .content(csv)
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        BookImportResultDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportResultDto.class);
+        assertEquals(4, actual.rows());
+        assertEquals(1, actual.inserted());
+        assertEquals(1, actual.updated());
+        assertEquals(2, actual.failed());
+        assertEquals(List.of(3L, 4L), actual.errors().stream()
+                .map(BookImportErrorDto::row)
+                .toList());
+        BookDto updated = objectMapper.readValue(mockMvc.perform(get("/api/books/1"))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(), BookDto.class);
+        assertEquals("Updated book", updated.getTitle());
+        assertEquals(Set.of(1L, 2L), updated.getCategoriesIds());
+    }
+
+    @Test
+    @DisplayName("Check if a null category id rejects only its own NDJSON row")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database.scripts/category/add-three-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/category/delete-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void importBooks_NullCategoryId_RejectsRow() {
+        //given
+        String ndjson = """
+                {"title":"First","author":"A","isbn":"123-123-0011","price":1,"categoriesIds":[1]}
+                {"title":"Null","author":"A","isbn":"123-123-0012","price":2,"categoriesIds":[null]}
+                {"title":"Third","author":"A","isbn":"123-123-0013","price":3,"categoriesIds":[2]}
+                """;
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/books/import")
+                        .content(ndjson)
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        BookImportResultDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportResultDto.class);
+        assertEquals(3, actual.rows());
+        assertEquals(2, actual.inserted());
+        assertEquals(1, actual.failed());
+        assertEquals(2L, actual.errors().get(0).row());
+        assertEquals("123-123-0012", actual.errors().get(0).isbn());
+    }
+
+    @Test
+    @DisplayName("Check if NDJSON import skips malformed lines")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database.scripts/category/add-three-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/category/delete-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void importBooks_NdjsonWithMalformedLine_ImportsOtherLines() {
+        //given
+        String ndjson = """
+                {"title":"First","author":"A","isbn":"123-123-0011","price":1,"categoriesIds":[1]}
+                {"title":"Broken",
+                {"title":"Third","author":"A","isbn":"123-123-0013","price":3,"categoriesIds":[2]}
+                """;
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/books/import")
+                        .content(ndjson)
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        BookImportResultDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportResultDto.class);
+        assertEquals(3, actual.rows());
+        assertEquals(2, actual.inserted());
+        assertEquals(1, actual.failed());
+        assertEquals(2L, actual.errors().get(0).row());
+    }
+
+    @Test
+    @DisplayName("Check if export streams every book with its category ids as NDJSON")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database.scripts/category/add-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/category/delete-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void exportBooks_Ndjson_ReturnsOneLinePerBook() {
+        //when
+        MvcResult result = mockMvc.perform(get("/api/books/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        List<BookDto> actual = result.getResponse().getContentAsString().lines()
+                .map(this::readBook)
+                .toList();
+        assertEquals(List.of(1L, 2L, 3L), actual.stream().map(BookDto::getId).toList());
+        assertEquals(Set.of(1L, 2L), actual.get(0).getCategoriesIds());
+    }
+
+    @Test
+    @DisplayName("Check if CSV export writes a header and one row per book")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database.scripts/category/add-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/category/delete-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void exportBooks_Csv_ReturnsHeaderAndRows() {
+        //when
+        MvcResult result = mockMvc.perform(get("/api/books/export?format=CSV"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals("id,title,author,isbn,price,categoriesIds,description,coverImage",
+                lines.get(0));
+    }
+
+    @Test
+    @DisplayName("Check if books sorted by price are walked page by page with a cursor")
+    @WithMockUser
+    @Sql(scripts = "classpath:database.scripts/book/add-three-books.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SneakyThrows
+    void getAllAfter_SortedByPrice_ReturnsAllPages() {
+        //when
+        CursorPageDto<BookDto> firstPage = getBooksAfter("");
+        CursorPageDto<BookDto> secondPage = getBooksAfter(firstPage.nextCursor());
+
+        //then
+        assertEquals(List.of(3L, 2L), firstPage.content().stream().map(BookDto::getId).toList());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(List.of(1L), secondPage.content().stream().map(BookDto::getId).toList());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Check if an invalid cursor is rejected with bad request")
+    @WithMockUser
+    @SneakyThrows
+    void getAllAfter_InvalidCursor_ReturnsBadRequest() {
+        mockMvc.perform(get("/api/books")
+                        .param("after", "not a cursor!")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    private CursorPageDto<BookDto> getBooksAfter(String cursor) {
+        MvcResult result = mockMvc.perform(get("/api/books")
+                        .param("after", cursor)
+                        .param("size", "2")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+    }
+
+    @SneakyThrows
+    private BookDto readBook(String json) {
+        return objectMapper.readValue(json, BookDto.class);
+    }
 }
@@ -0,0 +1,187 @@
+package book.store.onlinebookstore.book;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import book.store.onlinebookstore.dto.book.BookCacheStatsDto;
+import book.store.onlinebookstore.dto.book.BookDto;
+import book.store.onlinebookstore.service.impl.BookDtoCache;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class BookDtoCacheTest {
+    private static final int THREADS = 16;
+
+    @Test
+    @DisplayName("Check if concurrent misses for one book run a single loader")
+    @SneakyThrows
+    void get_ConcurrentMisses_LoadsBookOnce() {
+        //given
+        BookDtoCache cache = new BookDtoCache(100, 0, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<BookDto>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get(1L, id -> {
+                    loads.incrementAndGet();
+                    sleep();
+                    BookDto book = new BookDto();
+                    book.setId(id);
+                    return book;
+                });
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        assertEquals(1, loads.get());
+        BookDto first = results.get(0).get();
+        for (Future<BookDto> result : results) {
+            assertEquals(first, result.get());
+        }
+        assertEquals(1, cache.stats().loadCount());
+    }
+
+    @Test
+    @DisplayName("Check if weight-bounded cache evicts books over the byte budget")
+    void get_OverWeightBudget_EvictsBooks() {
+        //given
+        BookDtoCache cache = new BookDtoCache(100, 1024, Duration.ofMinutes(10));
+
+        //when
+        for (long id = 1; id <= 100; id++) {
+            cache.get(id, bookId -> {
+                BookDto book = new BookDto();
+                book.setId(bookId);
+                book.setDescription("x".repeat(100));
+                return book;
+            });
+        }
+        BookCacheStatsDto stats = cache.stats();
+
+        //then
+        assertEquals(3, stats.size());
+        assertEquals(97, stats.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Check if changing a returned book does not change the cached book")
+    void get_MutatedResult_ReturnsUnchangedCopy() {
+        //given
+        BookDtoCache cache = new BookDtoCache(100, 0, Duration.ofMinutes(10));
+        BookDto first = cache.get(1L, BookDtoCacheTest::book);
+
+        //when
+        first.setTitle("Changed");
+        first.getCategoriesIds().add(2L);
+        BookDto actual = cache.get(1L, BookDtoCacheTest::book);
+
+        //then
+        assertNotSame(first, actual);
+        assertEquals("Title", actual.getTitle());
+        assertEquals(Set.of(1L), actual.getCategoriesIds());
+    }
+
+    @Test
+    @DisplayName("Check if a load in flight during eviction is not served afterwards")
+    @SneakyThrows
+    void evict_DuringInFlightLoad_ReloadsBook() {
+        //given
+        BookDtoCache cache = new BookDtoCache(100, 0, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Future<BookDto> stale = executor.submit(() -> cache.get(1L, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(evicted);
+            BookDto book = book(id);
+            book.setTitle("Stale");
+            return book;
+        }));
+        loading.await();
+
+        //when
+        cache.evict(1L);
+        evicted.countDown();
+        stale.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        BookDto actual = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return book(id);
+        });
+
+        //then
+        assertEquals("Title", actual.getTitle());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Check if eviction inside a transaction is repeated after commit")
+    void evict_ActiveTransaction_EvictsAgainAfterCommit() {
+        //given
+        BookDtoCache cache = new BookDtoCache(100, 0, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(1L);
+            cache.get(1L, id -> {
+                loads.incrementAndGet();
+                return book(id);
+            });
+
+            //when
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return book(id);
+        });
+
+        //then
+        assertEquals(2, loads.get());
+    }
+
+    private static BookDto book(Long id) {
+        BookDto book = new BookDto();
+        book.setId(id);
+        book.setTitle("Title");
+        book.setCategoriesIds(new HashSet<>(Set.of(1L)));
+        return book;
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await();
+    }
+
+    @SneakyThrows
+    private static void sleep() {
+        Thread.sleep(100);
+    }
+}
@@ -2,10 +2,14 @@ package book.store.onlinebookstore.book;
 
 import book.store.onlinebookstore.model.Book;
 import book.store.onlinebookstore.repository.book.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,6 +26,8 @@ import org.springframework.test.context.jdbc.Sql;
 public class BookRepositoryTest {
     @Autowired
     private BookRepository bookRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @Test
     @DisplayName("Check if findById returns correct book")
@@ -60,4 +66,29 @@ public class BookRepositoryTest {
         List<Book> books = bookRepository.findAllByCategoriesId(1L, pageable);
         Assertions.assertEquals(2, books.size());
     }
+
+    @Test
+    @DisplayName("Check if saving several books sends batched inserts")
+    void saveAll_TenBooks_InsertsInOneBatch() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Book book = new Book();
+            book.setTitle("batch-book" + i);
+            book.setAuthor("batch-author");
+            book.setIsbn("978-0-00-000000-" + i);
+            book.setPrice(BigDecimal.TEN);
+            books.add(book);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        bookRepository.saveAllAndFlush(books);
+
+        Assertions.assertEquals(10, statistics.getEntityInsertCount());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected one batched insert, got "
+                        + statistics.getPrepareStatementCount() + " statements");
+        statistics.setStatisticsEnabled(false);
+    }
 }
@@ -0,0 +1,146 @@
+package book.store.onlinebookstore.book;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.onlinebookstore.dto.book.BookSearchParameters;
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.repository.book.BookRepository;
+import book.store.onlinebookstore.search.BookSearchIndex;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSearchIndexTest {
+    private static final int FRAGMENTING_UPDATES = 1100;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(bookRepository.findIndexBatch(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(
+                        getBook(1L, "test-book1", "test-author", "123-123-0001", null),
+                        getBook(2L, "test-book2", "test-author", "123-123-0002",
+                                "A book about java"),
+                        getBook(3L, "Java in action", "Other author", "123-123-0003", null)))
+                .thenReturn(List.of());
+        bookSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Check if title and author filters match whole phrases")
+    void search_TitlesAndAuthors_ReturnsMatchingIds() {
+        //given
+        var searchParameters = new BookSearchParameters(
+                new String[]{"test-book1", "test-book2"},
+                new String[]{"test-author"},
+                null);
+
+        //when
+        List<Long> actual = bookSearchIndex.search(searchParameters, PageRequest.of(0, 10));
+
+        //then
+        assertEquals(List.of(1L, 2L), actual);
+    }
+
+    @Test
+    @DisplayName("Check if free text query ranks title matches above description matches")
+    void search_Query_ReturnsRankedIds() {
+        //given
+        var searchParameters = new BookSearchParameters(null, null, "java");
+
+        //when
+        List<Long> actual = bookSearchIndex.search(searchParameters, PageRequest.of(0, 10));
+
+        //then
+        assertEquals(List.of(3L, 2L), actual);
+    }
+
+    @Test
+    @DisplayName("Check if isbn can be searched with or without dashes")
+    void search_IsbnQuery_ReturnsBook() {
+        //when
+        List<Long> withDashes = bookSearchIndex.search(
+                new BookSearchParameters(null, null, "123-123-0002"), PageRequest.of(0, 10));
+        List<Long> withoutDashes = bookSearchIndex.search(
+                new BookSearchParameters(null, null, "1231230002"), PageRequest.of(0, 10));
+
+        //then
+        assertEquals(2L, withDashes.get(0));
+        assertEquals(List.of(2L), withoutDashes);
+    }
+
+    @Test
+    @DisplayName("Check if results are paginated")
+    void search_SecondPage_ReturnsRemainingIds() {
+        //when
+        List<Long> actual = bookSearchIndex.search(
+                new BookSearchParameters(null, null, null), PageRequest.of(1, 2));
+
+        //then
+        assertEquals(List.of(3L), actual);
+    }
+
+    @Test
+    @DisplayName("Check if updated and removed books are reflected in search")
+    void indexAndRemove_ChangedBooks_UpdatesResults() {
+        //given
+        bookSearchIndex.index(getBook(1L, "Kotlin basics", "test-author", "123-123-0001", null));
+        bookSearchIndex.remove(3L);
+
+        //when
+        List<Long> java = bookSearchIndex.search(
+                new BookSearchParameters(null, null, "java"), PageRequest.of(0, 10));
+        List<Long> kotlin = bookSearchIndex.search(
+                new BookSearchParameters(null, null, "kotlin"), PageRequest.of(0, 10));
+
+        //then
+        assertEquals(List.of(2L), java);
+        assertEquals(List.of(1L), kotlin);
+    }
+
+    @Test
+    @DisplayName("Check if a fragmented index is compacted by the background task, not the writer")
+    void index_FragmentedIndex_CompactsInBackground() {
+        //given
+        Book book = getBook(1L, "test-book1", "test-author", "123-123-0001", null);
+        for (int i = 0; i < FRAGMENTING_UPDATES; i++) {
+            bookSearchIndex.index(book);
+        }
+        verify(bookRepository, times(1)).findIndexBatch(anyLong(), any(Pageable.class));
+
+        //when
+        bookSearchIndex.compactIfFragmented();
+        bookSearchIndex.compactIfFragmented();
+
+        //then
+        verify(bookRepository, times(2)).findIndexBatch(anyLong(), any(Pageable.class));
+    }
+
+    private Book getBook(Long id, String title, String author, String isbn, String description) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        book.setDescription(description);
+        return book;
+    }
+}
@@ -18,8 +18,12 @@ import book.store.onlinebookstore.model.Category;
 import book.store.onlinebookstore.repository.book.BookRepository;
 import book.store.onlinebookstore.repository.book.BookSpecificationBuilder;
 import book.store.onlinebookstore.repository.category.CategoryRepository;
+import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import book.store.onlinebookstore.search.BookSearchIndex;
+import book.store.onlinebookstore.service.impl.BookDtoCache;
 import book.store.onlinebookstore.service.impl.BookServiceImpl;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -52,6 +56,15 @@ public class BookServiceTest {
     @Mock
     private BookSpecificationBuilder specificationBuilder;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Spy
+    private BookDtoCache bookDtoCache = new BookDtoCache(100, 0, Duration.ofMinutes(10));
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -90,7 +103,7 @@ public class BookServiceTest {
         expected.setPrice(requestDto.price());
         expected.setCategoriesIds(requestDto.categoriesIds());
 
-        when(categoryRepository.findAllById(requestDto.categoriesIds()))
+        when(categoryRepository.loadAllById(requestDto.categoriesIds()))
                 .thenReturn(new ArrayList<>(categories));
         when(bookRepository.save(book)).thenReturn(book);
 
@@ -126,6 +139,50 @@ public class BookServiceTest {
         verify(bookRepository, Mockito.times(1)).findById(bookId);
     }
 
+    @Test
+    @DisplayName("Check if repeated get book by id loads the book once")
+    void getById_RepeatedCalls_LoadsBookOnce() {
+        //given
+        Long bookId = 1L;
+        Book book = new Book();
+        book.setId(bookId);
+        book.setTitle("testBook");
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+
+        //when
+        BookDto first = bookService.getById(bookId);
+        BookDto second = bookService.getById(bookId);
+
+        //then
+        assertEquals(first, second);
+        assertEquals(1, bookService.getCacheStats().hitCount());
+        verify(bookRepository, Mockito.times(1)).findById(bookId);
+    }
+
+    @Test
+    @DisplayName("Check if updateById evicts the cached book")
+    void updateById_CachedBook_ReturnsUpdatedBookOnNextGet() {
+        //given
+        Long bookId = 1L;
+        Book book = new Book();
+        book.setId(bookId);
+        book.setTitle("testBook");
+        book.setPrice(BigDecimal.valueOf(300));
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        when(bookRepository.save(book)).thenReturn(book);
+        var requestDto = new UpdateBookRequestDto("UpdatedBook", "UpdatedAuthor",
+                "123-123-0003", BigDecimal.valueOf(300), Set.of(), null, null);
+        bookService.getById(bookId);
+
+        //when
+        bookService.updateById(bookId, requestDto);
+        BookDto actual = bookService.getById(bookId);
+
+        //then
+        assertEquals(requestDto.title(), actual.getTitle());
+        verify(bookDtoCache, Mockito.times(1)).evict(bookId);
+    }
+
     @Test
     @DisplayName("Check if get book by id throws exception with incorrect id")
     void getById_InvalidId_ThrowsEntityNotFound() {
@@ -235,7 +292,8 @@ public class BookServiceTest {
 
         var bookSearchParameters = new BookSearchParameters(
                 new String[]{"Book1", "Book2"},
-                new String[]{"Test author"});
+                new String[]{"Test author"},
+                null);
         Pageable pageable = PageRequest.of(0, 10);
         Page<Book> books = new PageImpl<>(List.of(book1, book2));
 
@@ -250,6 +308,42 @@ public class BookServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @DisplayName("Check if search uses ranked ids from the index when it is ready")
+    void search_IndexReady_ReturnsBooksInRankedOrder() {
+        //given
+        Book book1 = new Book();
+        book1.setId(1L);
+        book1.setTitle("Book1");
+        Book book2 = new Book();
+        book2.setId(2L);
+        book2.setTitle("Book2");
+
+        BookDto bookDto1 = new BookDto();
+        bookDto1.setId(book1.getId());
+        bookDto1.setTitle(book1.getTitle());
+        bookDto1.setCategoriesIds(Set.of());
+        BookDto bookDto2 = new BookDto();
+        bookDto2.setId(book2.getId());
+        bookDto2.setTitle(book2.getTitle());
+        bookDto2.setCategoriesIds(Set.of());
+
+        var bookSearchParameters = new BookSearchParameters(null, null, "book");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(bookSearchIndex.isReady()).thenReturn(true);
+        when(bookSearchIndex.search(bookSearchParameters, pageable)).thenReturn(List.of(2L, 1L));
+        when(bookRepository.findAllByIdIn(List.of(2L, 1L))).thenReturn(List.of(book1, book2));
+        List<BookDto> expected = List.of(bookDto2, bookDto1);
+
+        //when
+        List<BookDto> actual = bookService.search(bookSearchParameters, pageable);
+
+        //then
+        assertEquals(expected, actual);
+        verify(bookRepository, Mockito.never()).findAll(specificationBuilder
+                .build(bookSearchParameters), pageable);
+    }
+
     @Test
     @DisplayName("Check if findAll books works")
     void findAll_ValidPageable_ReturnsAllBooks() {
@@ -283,11 +377,12 @@ public class BookServiceTest {
         bookDto2.setIsbn(book2.getIsbn());
         bookDto2.setPrice(book2.getPrice());
         bookDto2.setCategoriesIds(Set.of());
-        Page<Book> books = new PageImpl<>(List.of(book1, book2));
 
         Pageable pageable = PageRequest.of(0, 10);
-        when(bookRepository.findAll(pageable))
-                .thenReturn(books);
+        when(bookRepository.findPageIds(pageable))
+                .thenReturn(List.of(book1.getId(), book2.getId()));
+        when(bookRepository.findAllByIdIn(List.of(book1.getId(), book2.getId())))
+                .thenReturn(List.of(book2, book1));
         List<BookDto> expected = List.of(bookDto1, bookDto2);
 
         //when
@@ -295,7 +390,8 @@ public class BookServiceTest {
 
         //then
         assertEquals(expected, actual);
-        verify(bookRepository, Mockito.times(1)).findAll(pageable);
+        verify(bookRepository, Mockito.times(1)).findPageIds(pageable);
+        verify(bookRepository, Mockito.never()).findAll(pageable);
     }
 
     @Test
@@ -359,7 +455,7 @@ public class BookServiceTest {
                     return category;
                 })
                 .collect(Collectors.toSet());
-        when(categoryRepository.findAllById(requestDto.categoriesIds()))
+        when(categoryRepository.loadAllById(requestDto.categoriesIds()))
                 .thenReturn(new ArrayList<>(categories));
 
         BookDto expected = new BookDto();
@@ -378,6 +474,7 @@ public class BookServiceTest {
         //then
         assertEquals(expected, actual);
         verify(bookRepository, Mockito.times(1)).save(book);
+        verify(shoppingCartRepository, Mockito.times(1)).recalculateSubtotals(List.of(bookId));
     }
 }
 
@@ -1,5 +1,6 @@
 package book.store.onlinebookstore.category;
 
+import static book.store.onlinebookstore.metrics.SqlStatementBudgets.sqlStatementBudgets;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -11,12 +12,16 @@ import book.store.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import book.store.onlinebookstore.dto.category.CategoryDto;
 import book.store.onlinebookstore.dto.category.CreateCategoryRequestDto;
 import book.store.onlinebookstore.dto.category.UpdateCategoryRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -41,15 +46,23 @@ public class CategoryControllerTest {
     protected static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @BeforeAll
     static void beforeAll(@Autowired WebApplicationContext applicationContext) {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(applicationContext)
                 .apply(springSecurity())
+                .apply(sqlStatementBudgets())
                 .build();
     }
 
+    @AfterEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
     @DisplayName("Check creating category")
@@ -99,6 +112,43 @@ public class CategoryControllerTest {
         Assertions.assertEquals(expected, Arrays.stream(actual).toList());
     }
 
+    @Test
+    @DisplayName("Check if categories are paged with a cursor")
+    @WithMockUser
+    @Sql(scripts = "classpath:database.scripts/category/add-three-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SneakyThrows
+    void getAllAfter_CursorPages_ReturnsAllCategories() {
+        //given
+        CategoryDto categoryDto1 = new CategoryDto(1L, "Test category 1", null);
+        CategoryDto categoryDto2 = new CategoryDto(2L, "Test category 2", null);
+        CategoryDto categoryDto3 = new CategoryDto(3L, "Test category 3", null);
+
+        //when
+        MvcResult firstResult = mockMvc.perform(get("/api/categories?after=&size=2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        CursorPageDto<CategoryDto> firstPage = objectMapper.readValue(
+                firstResult.getResponse().getContentAsString(), new TypeReference<>() {
+                });
+        MvcResult secondResult = mockMvc.perform(get("/api/categories")
+                        .param("after", firstPage.nextCursor())
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        CursorPageDto<CategoryDto> secondPage = objectMapper.readValue(
+                secondResult.getResponse().getContentAsString(), new TypeReference<>() {
+                });
+
+        //then
+        Assertions.assertEquals(List.of(categoryDto1, categoryDto2), firstPage.content());
+        Assertions.assertNotNull(firstPage.nextCursor());
+        Assertions.assertEquals(List.of(categoryDto3), secondPage.content());
+        Assertions.assertNull(secondPage.nextCursor());
+    }
+
     @Test
     @DisplayName("Check if category dto is returned by id")
     @WithMockUser
@@ -200,4 +250,63 @@ public class CategoryControllerTest {
                 .andExpect(status().isNotFound())
                 .andReturn();
     }
+
+    @Test
+    @DisplayName("Check if books of a category sorted by title are walked with a cursor")
+    @WithMockUser
+    @Sql(scripts = "classpath:database.scripts/category/add-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SneakyThrows
+    void getBooksByCategoryIdAfter_SortedByTitle_ReturnsAllPages() {
+        //when
+        CursorPageDto<BookDtoWithoutCategoryIds> firstPage = getCategoryBooksAfter("");
+        CursorPageDto<BookDtoWithoutCategoryIds> secondPage =
+                getCategoryBooksAfter(firstPage.nextCursor());
+
+        //then
+        Assertions.assertEquals(List.of(3L),
+                firstPage.content().stream().map(BookDtoWithoutCategoryIds::id).toList());
+        Assertions.assertNotNull(firstPage.nextCursor());
+        Assertions.assertEquals(List.of(1L),
+                secondPage.content().stream().map(BookDtoWithoutCategoryIds::id).toList());
+        Assertions.assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Check if a cursor of another sort is rejected with bad request")
+    @WithMockUser
+    @Sql(scripts = "classpath:database.scripts/category/add-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SneakyThrows
+    void getBooksByCategoryIdAfter_CursorOfOtherSort_ReturnsBadRequest() {
+        //given
+        MvcResult result = mockMvc.perform(get("/api/categories/1/books")
+                        .param("after", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        CursorPageDto<BookDtoWithoutCategoryIds> idPage = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                });
+
+        //then
+        mockMvc.perform(get("/api/categories/1/books")
+                        .param("after", idPage.nextCursor())
+                        .param("size", "1")
+                        .param("sort", "title,desc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    private CursorPageDto<BookDtoWithoutCategoryIds> getCategoryBooksAfter(String cursor) {
+        MvcResult result = mockMvc.perform(get("/api/categories/1/books")
+                        .param("after", cursor)
+                        .param("size", "1")
+                        .param("sort", "title,desc"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+    }
 }
@@ -0,0 +1,78 @@
+package book.store.onlinebookstore.category;
+
+import book.store.onlinebookstore.config.SecondLevelCacheConfig;
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.model.Category;
+import book.store.onlinebookstore.repository.book.BookRepository;
+import book.store.onlinebookstore.repository.category.CategoryCacheEvictionListener;
+import book.store.onlinebookstore.repository.category.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SecondLevelCacheConfig.class, CategoryCacheEvictionListener.class})
+public class CategoryRepositoryTest {
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Check if loadAllById serves categories from the second-level cache")
+    @Sql(scripts = "classpath:database.scripts/category/add-three-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/category/clear-categories-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void loadAllById_LoadedTwice_SecondLoadHitsCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        entityManagerFactory.getCache().evictAll();
+        categoryRepository.loadAllById(List.of(1L, 2L));
+        statistics.clear();
+
+        List<Category> categories = categoryRepository.loadAllById(List.of(1L, 2L, 4L));
+
+        Assertions.assertEquals(2, categories.size());
+        Assertions.assertEquals(2, statistics.getSecondLevelCacheHitCount());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Check if deleting a category evicts cached book categories")
+    @Sql(scripts = "classpath:database.scripts/category/add-three-books-and-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void deleteById_CachedBookCategories_EvictsCollectionCache() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        String role = Book.class.getName() + ".categories";
+        cache.evictAll();
+        Assertions.assertEquals(2,
+                bookRepository.findById(1L).orElseThrow().getCategories().size());
+        Assertions.assertTrue(cache.containsCollection(role, 1L));
+
+        entityManager.clear();
+        categoryRepository.deleteById(2L);
+        entityManager.flush();
+
+        Assertions.assertFalse(cache.containsCollection(role, 1L));
+    }
+}
@@ -1,18 +1,23 @@
 package book.store.onlinebookstore.category;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import book.store.onlinebookstore.dto.category.CategoryDto;
 import book.store.onlinebookstore.dto.category.CreateCategoryRequestDto;
 import book.store.onlinebookstore.dto.category.UpdateCategoryRequestDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
 import book.store.onlinebookstore.exception.EntityNotFoundException;
 import book.store.onlinebookstore.mapper.CategoryMapper;
 import book.store.onlinebookstore.mapper.CategoryMapperImpl;
 import book.store.onlinebookstore.model.Category;
+import book.store.onlinebookstore.repository.KeysetCursorCodec;
 import book.store.onlinebookstore.repository.category.CategoryRepository;
+import book.store.onlinebookstore.service.impl.BookDtoCache;
 import book.store.onlinebookstore.service.impl.CategoryServiceImpl;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,9 +27,13 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 @ExtendWith(MockitoExtension.class)
 public class CategoryServiceTest {
@@ -32,6 +41,10 @@ public class CategoryServiceTest {
     private CategoryRepository categoryRepository;
     @Spy
     private CategoryMapper categoryMapper = new CategoryMapperImpl();
+    @Spy
+    private KeysetCursorCodec cursorCodec = new KeysetCursorCodec();
+    @Mock
+    private BookDtoCache bookDtoCache;
 
     @InjectMocks
     private CategoryServiceImpl categoryService;
@@ -69,6 +82,38 @@ public class CategoryServiceTest {
         Mockito.verify(categoryRepository, Mockito.times(1)).findAll(pageable);
     }
 
+    @Test
+    @DisplayName("Check if cursor pagination returns a cursor that resumes after the last row")
+    void findAllAfter_ValidCursor_ReturnsNextPage() {
+        //given
+        Category category1 = new Category();
+        category1.setId(1L);
+        category1.setName("Test category 1");
+        Category category2 = new Category();
+        category2.setId(2L);
+        category2.setName("Test category 2");
+        Pageable pageable = PageRequest.of(0, 1);
+        Sort sort = Sort.by("id");
+
+        Mockito.when(categoryRepository.findBy(ScrollPosition.keyset(), Limit.of(1), sort))
+                .thenReturn(Window.from(List.of(category1),
+                        i -> ScrollPosition.forward(Map.of("id", 1L)), true));
+        Mockito.when(categoryRepository.findBy(ScrollPosition.forward(Map.of("id", 1L)),
+                        Limit.of(1), sort))
+                .thenReturn(Window.from(List.of(category2),
+                        i -> ScrollPosition.forward(Map.of("id", 2L)), false));
+
+        //when
+        CursorPageDto<CategoryDto> firstPage = categoryService.findAllAfter("", pageable);
+        CursorPageDto<CategoryDto> secondPage = categoryService
+                .findAllAfter(firstPage.nextCursor(), pageable);
+
+        //then
+        assertEquals(List.of(new CategoryDto(1L, "Test category 1", "")), firstPage.content());
+        assertEquals(List.of(new CategoryDto(2L, "Test category 2", "")), secondPage.content());
+        assertNull(secondPage.nextCursor());
+    }
+
     @Test
     @DisplayName("Check if find category by id returns category dto")
     void getById_ValidId_ReturnsCategoryDto() {
@@ -0,0 +1,154 @@
+package book.store.onlinebookstore.inventory;
+
+import static book.store.onlinebookstore.metrics.SqlStatementBudgets.sqlStatementBudgets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import book.store.onlinebookstore.dto.stock.BookStockDto;
+import book.store.onlinebookstore.dto.stock.UpdateBookStockRequestDto;
+import book.store.onlinebookstore.exception.InsufficientStockException;
+import book.store.onlinebookstore.service.InventoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {"classpath:database.scripts/book/add-three-books.sql",
+        "classpath:database.scripts/inventory/add-book-stock.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database.scripts/inventory/delete-book-stock.sql",
+        "classpath:database.scripts/book/clear-book-table.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class InventoryControllerTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 64;
+    private static final int STOCK = 20;
+    private static MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private InventoryService inventoryService;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .apply(sqlStatementBudgets())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @DisplayName("Check if stock is set and read back")
+    @SneakyThrows
+    void setStock_ValidRequest_ReturnsStock() {
+        //given
+        var requestDto = new UpdateBookStockRequestDto(7);
+
+        //when
+        mockMvc.perform(put("/api/inventory/1")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        MvcResult result = mockMvc.perform(get("/api/inventory/1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        assertEquals(new BookStockDto(1L, 7), objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookStockDto.class));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @DisplayName("Check if stock of a missing book can't be set")
+    @SneakyThrows
+    void setStock_MissingBook_ReturnsNotFound() {
+        //given
+        var requestDto = new UpdateBookStockRequestDto(7);
+
+        //when
+        mockMvc.perform(put("/api/inventory/100")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Check if many threads reserving one book never oversell it")
+    @SneakyThrows
+    void reserve_ConcurrentReservationsOfOneBook_NeverOversells() {
+        //when
+        int reserved = hammer(() -> Map.of(1L, 1));
+
+        //then
+        assertEquals(STOCK, reserved);
+        assertEquals(new BookStockDto(1L, 0), inventoryService.getStock(1L));
+    }
+
+    @Test
+    @DisplayName("Check if reservations of books in any order don't deadlock")
+    @SneakyThrows
+    void reserve_ConcurrentReservationsInRandomOrder_DontDeadlock() {
+        //when
+        int reserved = hammer(() -> {
+            List<Long> bookIds = new ArrayList<>(List.of(1L, 2L, 3L));
+            Collections.shuffle(bookIds);
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            bookIds.forEach(bookId -> quantities.put(bookId, 1));
+            return quantities;
+        });
+
+        //then
+        assertEquals(STOCK, reserved);
+        for (long bookId = 1; bookId <= 3; bookId++) {
+            assertEquals(new BookStockDto(bookId, 0), inventoryService.getStock(bookId));
+        }
+    }
+
+    @SneakyThrows
+    private int hammer(Supplier<Map<Long, Integer>> order) {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    inventoryService.reserve(order.get());
+                    return true;
+                } catch (InsufficientStockException e) {
+                    return false;
+                }
+            }));
+        }
+        int reserved = 0;
+        for (Future<Boolean> result : results) {
+            reserved += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+        return reserved;
+    }
+}
@@ -0,0 +1,149 @@
+package book.store.onlinebookstore.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import book.store.onlinebookstore.dto.stock.BookStockDto;
+import book.store.onlinebookstore.exception.EntityNotFoundException;
+import book.store.onlinebookstore.exception.InsufficientStockException;
+import book.store.onlinebookstore.repository.book.BookRepository;
+import book.store.onlinebookstore.repository.stock.BookStockRepository;
+import book.store.onlinebookstore.service.impl.InventoryServiceImpl;
+import book.store.onlinebookstore.service.impl.StripedStockReservations;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryServiceTest {
+    @Mock
+    private BookStockRepository bookStockRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private StripedStockReservations reservations;
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    @Test
+    @DisplayName("Check if stock is decremented in ascending book id order")
+    void reserve_SeveralBooks_DecrementsInBookIdOrder() {
+        //given
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(3L, 1);
+        quantities.put(1L, 2);
+        quantities.put(2L, 3);
+        Mockito.when(reservations.tryReserve(any(), anyInt(), any())).thenReturn(true);
+        Mockito.when(bookStockRepository.decrement(any(), anyInt())).thenReturn(1);
+
+        //when
+        inventoryService.reserve(quantities);
+
+        //then
+        InOrder inOrder = Mockito.inOrder(bookStockRepository);
+        inOrder.verify(bookStockRepository).decrement(1L, 2);
+        inOrder.verify(bookStockRepository).decrement(2L, 3);
+        inOrder.verify(bookStockRepository).decrement(3L, 1);
+    }
+
+    @Test
+    @DisplayName("Check if reservation fails when tracked stock is too low")
+    void reserve_NotEnoughStock_ThrowsException() {
+        //given
+        Mockito.when(reservations.tryReserve(eq(1L), eq(5), any())).thenReturn(true);
+        Mockito.when(bookStockRepository.decrement(1L, 5)).thenReturn(0);
+        Mockito.when(bookStockRepository.findBookIdsIn(List.of(1L))).thenReturn(List.of(1L));
+
+        //when
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> inventoryService.reserve(Map.of(1L, 5)));
+
+        //then
+        assertEquals("Not enough stock for book by id 1", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Check if books without a stock row are not limited")
+    void reserve_UntrackedBook_Passes() {
+        //given
+        Mockito.when(reservations.tryReserve(eq(1L), eq(5), any())).thenReturn(true);
+        Mockito.when(bookStockRepository.decrement(1L, 5)).thenReturn(0);
+        Mockito.when(bookStockRepository.findBookIdsIn(List.of(1L))).thenReturn(List.of());
+
+        //when
+        inventoryService.reserve(Map.of(1L, 5));
+
+        //then
+        verify(bookStockRepository).findBookIdsIn(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Check if untracked books are looked up with a single query")
+    void reserve_SeveralUntrackedBooks_LooksUpStockOnce() {
+        //given
+        Mockito.when(reservations.tryReserve(any(), anyInt(), any())).thenReturn(true);
+        Mockito.when(bookStockRepository.decrement(any(), anyInt())).thenReturn(0);
+        Mockito.when(bookStockRepository.findBookIdsIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of());
+
+        //when
+        inventoryService.reserve(Map.of(3L, 1, 1L, 2, 2L, 3));
+
+        //then
+        verify(bookStockRepository).findBookIdsIn(List.of(1L, 2L, 3L));
+        verify(bookStockRepository, Mockito.never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Check if a rejected in-memory reservation skips the database")
+    void reserve_RejectedByReservations_ThrowsWithoutDecrement() {
+        //given
+        Mockito.when(reservations.tryReserve(eq(1L), eq(5), any())).thenReturn(false);
+
+        //when
+        assertThrows(InsufficientStockException.class,
+                () -> inventoryService.reserve(Map.of(1L, 5)));
+
+        //then
+        verify(bookStockRepository, Mockito.never()).decrement(1L, 5);
+    }
+
+    @Test
+    @DisplayName("Check if setting stock of a missing book is rejected")
+    void setStock_MissingBook_ThrowsException() {
+        //given
+        Mockito.when(bookRepository.existsById(100L)).thenReturn(false);
+
+        //when
+        assertThrows(EntityNotFoundException.class, () -> inventoryService.setStock(100L, 5));
+
+        //then
+        verify(bookStockRepository, Mockito.never()).upsert(100L, 5);
+    }
+
+    @Test
+    @DisplayName("Check if setting stock drops the in-memory counter")
+    void setStock_ExistingBook_ReturnsStock() {
+        //given
+        Mockito.when(bookRepository.existsById(1L)).thenReturn(true);
+
+        //when
+        BookStockDto actual = inventoryService.setStock(1L, 5);
+
+        //then
+        assertEquals(new BookStockDto(1L, 5), actual);
+        verify(reservations).invalidate(1L);
+    }
+}
@@ -0,0 +1,72 @@
+package book.store.onlinebookstore.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.onlinebookstore.service.impl.StripedStockReservations;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StripedStockReservationsTest {
+    private static final int THREADS = 16;
+    private static final int STOCK = 1000;
+
+    @Test
+    @DisplayName("Check if concurrent reservations never exceed the loaded stock")
+    @SneakyThrows
+    void tryReserve_ConcurrentReservations_NeverOversells() {
+        //given
+        StripedStockReservations reservations = new StripedStockReservations(true, 8, 100,
+                Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                for (int attempt = 0; attempt < STOCK; attempt++) {
+                    if (reservations.tryReserve(1L, 3, id -> {
+                        loads.incrementAndGet();
+                        return STOCK;
+                    })) {
+                        reserved.addAndGet(3);
+                    }
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        //then
+        assertEquals(STOCK - STOCK % 3, reserved.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Check if untracked books and disabled reservations always pass")
+    void tryReserve_UntrackedOrDisabled_ReturnsTrue() {
+        //given
+        StripedStockReservations enabled = new StripedStockReservations(true, 8, 100,
+                Duration.ofMinutes(1));
+        StripedStockReservations disabled = new StripedStockReservations(false, 8, 100,
+                Duration.ofMinutes(1));
+
+        //then
+        assertTrue(enabled.tryReserve(1L, 5, id -> null));
+        assertTrue(disabled.tryReserve(1L, 5, id -> 0));
+        assertFalse(enabled.tryReserve(2L, 5, id -> 4));
+    }
+}
@@ -0,0 +1,96 @@
+package book.store.onlinebookstore.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@AutoConfigureMockMvc
+@Sql(scripts = "classpath:database.scripts/book/add-three-books.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database.scripts/book/clear-book-table.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class PrometheusScrapeTest {
+    private static final List<String> EXPECTED_SERIES = List.of(
+            "http_server_requests_seconds_bucket{",
+            "uri=\"/api/books/{id}\"",
+            "service_invocations_seconds_count{class=\"BookServiceImpl\"",
+            "method=\"getById\"",
+            "spring_data_repository_invocations_seconds_count{",
+            "repository=\"BookRepository\"",
+            "hibernate_query_executions_total{",
+            "hibernate_entities_loads_total{",
+            "hibernate_collections_fetches_total{",
+            "hibernate_second_level_cache_requests_total{",
+            "hikaricp_connections_active{",
+            "hikaricp_connections_pending{",
+            "cache_gets_total{cache=\"books.dto\"",
+            "outbox_pending ",
+            "outbox_lag_milliseconds ",
+            "http_server_requests_sql_statements_count{");
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Check if request, service, repository, Hibernate and pool metrics are scraped")
+    @WithMockUser(username = "user", roles = {"USER"})
+    @SneakyThrows
+    void scrape_AfterRequest_ExposesMetrics() {
+        //given
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementCountFilter.HEADER_NAME));
+
+        //when
+        String actual = mockMvc.perform(get("/actuator/prometheus")
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        //then
+        for (String series : EXPECTED_SERIES) {
+            assertTrue(actual.contains(series), "Missing " + series);
+        }
+    }
+
+    @Test
+    @DisplayName("Check if a user without the admin role can't scrape metrics")
+    @WithMockUser(username = "user", roles = {"USER"})
+    @SneakyThrows
+    void scrape_UserRole_ReturnsForbidden() {
+        //when
+        ResultActions result = mockMvc.perform(get("/actuator/prometheus"));
+
+        //then
+        result.andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Check if metrics can't be scraped without credentials")
+    @SneakyThrows
+    void scrape_Anonymous_ReturnsUnauthorized() {
+        //when
+        ResultActions result = mockMvc.perform(get("/actuator/prometheus"));
+
+        //then
+        result.andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,79 @@
+package book.store.onlinebookstore.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+import java.util.StringJoiner;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.ConfigurableMockMvcBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcConfigurer;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.HandlerMapping;
+
+public final class SqlStatementBudgets implements MockMvcConfigurer {
+    private static final String BUDGETS_FILE = "/sql-statement-budgets.properties";
+    private static final Properties BUDGETS = load();
+
+    private SqlStatementBudgets() {
+    }
+
+    public static SqlStatementBudgets sqlStatementBudgets() {
+        return new SqlStatementBudgets();
+    }
+
+    @Override
+    public RequestPostProcessor beforeMockMvcCreated(ConfigurableMockMvcBuilder<?> builder,
+                                                     WebApplicationContext context) {
+        builder.addFilters(context.getBean(SqlStatementCountFilter.class));
+        builder.alwaysExpect(withinBudget());
+        return null;
+    }
+
+    private static ResultMatcher withinBudget() {
+        return result -> {
+            Object pattern = result.getRequest()
+                    .getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Object count = result.getRequest()
+                    .getAttribute(SqlStatementCountFilter.COUNT_ATTRIBUTE);
+            if (pattern == null || count == null) {
+                return;
+            }
+            String endpoint = result.getRequest().getMethod() + " " + pattern;
+            String budget = BUDGETS.getProperty(endpoint + getQuery(result.getRequest()),
+                    BUDGETS.getProperty(endpoint));
+            assertNotNull(budget, "No SQL statement budget for " + endpoint + ", it ran "
+                    + count + " statements");
+            assertTrue((int) count <= Integer.parseInt(budget), endpoint + " ran " + count
+                    + " SQL statements, the budget is " + budget);
+        };
+    }
+
+    private static String getQuery(HttpServletRequest request) {
+        StringJoiner query = new StringJoiner("&", "?", "");
+        query.setEmptyValue("");
+        request.getParameterMap().forEach((name, values) -> {
+            for (String value : values) {
+                query.add(name + "=" + value);
+            }
+        });
+        return query.toString();
+    }
+
+    private static Properties load() {
+        Properties budgets = new Properties();
+        try (InputStream in = SqlStatementBudgets.class.getResourceAsStream(BUDGETS_FILE)) {
+            if (in != null) {
+                budgets.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,44 @@
+package book.store.onlinebookstore.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SqlStatementCounterTest {
+    private static final String SELECT_BOOK = "select * from books where id=?";
+    private static final String SELECT_CART = "select * from shopping_carts where user_id=?";
+
+    @Test
+    @DisplayName("Check if statements are counted and the most repeated one is reported")
+    void stop_AfterStatements_ReturnsStats() {
+        //given
+        SqlStatementCounter counter = new SqlStatementCounter();
+        counter.start();
+
+        //when
+        counter.record(SELECT_CART);
+        counter.record(SELECT_BOOK);
+        counter.record(SELECT_BOOK);
+        counter.record(SELECT_BOOK);
+        final int runningCount = counter.count();
+        SqlStatementStats actual = counter.stop();
+
+        //then
+        assertEquals(4, runningCount);
+        assertEquals(new SqlStatementStats(4, SELECT_BOOK, 3), actual);
+    }
+
+    @Test
+    @DisplayName("Check if statements outside of a request are not counted")
+    void record_NotStarted_CountsNothing() {
+        //given
+        SqlStatementCounter counter = new SqlStatementCounter();
+
+        //when
+        counter.record(SELECT_BOOK);
+
+        //then
+        assertEquals(SqlStatementStats.EMPTY, counter.stop());
+    }
+}
@@ -0,0 +1,52 @@
+package book.store.onlinebookstore.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StatementCountingDataSourceTest {
+    private static final String SELECT_BOOK = "SELECT * FROM books WHERE id = ?";
+    private static final String INSERT_LINK =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (1, 1)";
+
+    @Test
+    @DisplayName("Check if prepared and plain statements run on a connection are counted")
+    @SneakyThrows
+    void getConnection_StatementsRun_CountsEveryStatement() {
+        //given
+        Connection target = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(target.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(target.createStatement()).thenReturn(mock(Statement.class));
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(target);
+        SqlStatementCounter counter = new SqlStatementCounter();
+        StatementCountingDataSource dataSource = new StatementCountingDataSource(pool, counter);
+        counter.start();
+
+        //when
+        final PreparedStatement actual;
+        try (Connection connection = dataSource.getConnection()) {
+            actual = connection.prepareStatement(SELECT_BOOK);
+            connection.prepareStatement(SELECT_BOOK);
+            connection.prepareStatement(SELECT_BOOK);
+            Statement statement = connection.createStatement();
+            statement.addBatch(INSERT_LINK);
+            statement.executeUpdate(INSERT_LINK);
+        }
+
+        //then
+        assertSame(preparedStatement, actual);
+        assertEquals(new SqlStatementStats(5, SELECT_BOOK, 3), counter.stop());
+    }
+}
@@ -0,0 +1,415 @@
+package book.store.onlinebookstore.order;
+
+import static book.store.onlinebookstore.metrics.SqlStatementBudgets.sqlStatementBudgets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import book.store.onlinebookstore.dto.order.BulkOrderStatusUpdateDto;
+import book.store.onlinebookstore.dto.order.BulkUpdateOrderStatusRequestDto;
+import book.store.onlinebookstore.dto.order.CreateOrderRequestDto;
+import book.store.onlinebookstore.dto.order.OrderDto;
+import book.store.onlinebookstore.dto.order.OrderStatusDto;
+import book.store.onlinebookstore.dto.order.OrderStatusFilterDto;
+import book.store.onlinebookstore.dto.order.OrderStatusUpdateResultDto;
+import book.store.onlinebookstore.dto.order.OrderStatusUpdateResultDto.Outcome;
+import book.store.onlinebookstore.dto.order.OrderSummaryDto;
+import book.store.onlinebookstore.dto.order.UpdateOrderRequestDto;
+import book.store.onlinebookstore.dto.order.item.OrderItemDto;
+import book.store.onlinebookstore.dto.page.CursorPageDto;
+import book.store.onlinebookstore.model.Order.OrderStatus;
+import book.store.onlinebookstore.model.User;
+import book.store.onlinebookstore.repository.order.OrderOutboxRepository;
+import book.store.onlinebookstore.repository.order.OrderSummaryRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {"classpath:database.scripts/book/add-three-books.sql",
+        "classpath:database.scripts/user/add-user.sql",
+        "classpath:database.scripts/shoppingcart/add-shopping-cart.sql",
+        "classpath:database.scripts/shoppingcart/item/add-three-cart-items.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database.scripts/order/delete-orders.sql",
+        "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
+        "classpath:database.scripts/shoppingcart/delete-shopping-cart.sql",
+        "classpath:database.scripts/book/clear-book-table.sql",
+        "classpath:database.scripts/user/delete-user.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderControllerTest {
+    private static final String IDEMPOTENCY_KEY = "9b7c3f0e-order-retry";
+    private static final int CONCURRENT_REQUESTS = 8;
+    private static final BigDecimal CART_TOTAL = new BigDecimal("7029.70");
+    private static MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+    @Autowired
+    private OrderSummaryRepository summaryRepository;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .apply(sqlStatementBudgets())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Check if a retried order with the same Idempotency-Key returns the first order")
+    @SneakyThrows
+    void placeOrder_RepeatedIdempotencyKey_ReturnsOriginalOrder() {
+        //when
+        OrderDto first = placeOrder();
+        OrderDto replayed = placeOrder();
+
+        //then
+        assertEquals(CART_TOTAL, first.total());
+        assertEquals(first, replayed);
+        assertEquals(List.of(first.id()), getOrderIds());
+        assertEquals(1, outboxRepository.count());
+    }
+
+    @Test
+    @DisplayName("Check if an Idempotency-Key reused with a different body is rejected")
+    @SneakyThrows
+    void placeOrder_KeyReusedWithDifferentBody_ReturnsUnprocessableEntity() {
+        //given
+        OrderDto first = placeOrder();
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/orders")
+                        .with(principal())
+                        .header("Idempotency-Key", IDEMPOTENCY_KEY)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateOrderRequestDto("another address")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn();
+
+        //then
+        assertEquals("Idempotency-Key " + IDEMPOTENCY_KEY
+                        + " was already used with a different request",
+                result.getResponse().getContentAsString());
+        assertEquals(List.of(first.id()), getOrderIds());
+    }
+
+    @Test
+    @DisplayName("Check if a placed order is listed in summaries and its items are expanded")
+    @SneakyThrows
+    void getSummaries_PlacedOrder_ReturnsSummaryAndItems() {
+        //given
+        OrderDto order = placeOrder();
+
+        //when
+        MvcResult summaries = mockMvc.perform(get("/api/orders/summaries").with(principal()))
+                .andExpect(status().isOk())
+                .andReturn();
+        final MvcResult items = mockMvc.perform(get("/api/orders/" + order.id() + "/items")
+                        .with(principal()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        List<OrderSummaryDto> actual = objectMapper.readValue(
+                summaries.getResponse().getContentAsString(), new TypeReference<>() {
+                });
+        assertEquals(1, actual.size());
+        assertEquals(order.id(), actual.get(0).id());
+        assertEquals(OrderStatus.PENDING, actual.get(0).status());
+        assertEquals(CART_TOTAL, actual.get(0).total());
+        assertEquals(order.orderItems().size(), actual.get(0).itemCount());
+        List<OrderItemDto> orderItems = objectMapper.readValue(
+                items.getResponse().getContentAsString(), new TypeReference<>() {
+                });
+        assertEquals(order.orderItems(), Set.copyOf(orderItems));
+    }
+
+    @Test
+    @DisplayName("Check if summaries sorted by anything but the order id are rejected")
+    @SneakyThrows
+    void getSummaries_SortedByTotal_ReturnsBadRequest() {
+        //when
+        MvcResult result = mockMvc.perform(get("/api/orders/summaries")
+                        .param("sort", "total,desc")
+                        .with(principal()))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        //then
+        assertEquals("Can't sort order summaries by total",
+                result.getResponse().getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Check if concurrent orders with the same Idempotency-Key place one order")
+    @SneakyThrows
+    void placeOrder_ConcurrentIdempotencyKey_PlacesOneOrder() {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        List<Future<OrderDto>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            results.add(executor.submit(this::placeOrder));
+        }
+        List<Long> orderIds = new ArrayList<>();
+        for (Future<OrderDto> result : results) {
+            orderIds.add(result.get().id());
+        }
+        executor.shutdown();
+
+        //then
+        assertEquals(1, orderIds.stream().distinct().count());
+        assertEquals(List.of(orderIds.get(0)), getOrderIds());
+    }
+
+    @Test
+    @DisplayName("Check if a status update returns the slim status unless items are requested")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database.scripts/order/add-four-orders.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @SneakyThrows
+    void updateOrderStatusById_ExpandItems_ReturnsRequestedView() {
+        //given
+        String content = objectMapper.writeValueAsString(
+                new UpdateOrderRequestDto(OrderStatus.PROCESSING));
+
+        //when
+        MvcResult slim = mockMvc.perform(patch("/api/orders/101")
+                        .content(content)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult expanded = mockMvc.perform(patch("/api/orders/101")
+                        .param("expand", "items")
+                        .content(content)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        assertEquals(objectMapper.writeValueAsString(
+                        new OrderStatusDto(101L, OrderStatus.PROCESSING)),
+                slim.getResponse().getContentAsString());
+        OrderDto order = objectMapper.readValue(expanded.getResponse().getContentAsString(),
+                OrderDto.class);
+        assertEquals(101L, order.id());
+        assertEquals(OrderStatus.PROCESSING, order.status());
+    }
+
+    @Test
+    @DisplayName("Check if a status update skipping the allowed transitions is rejected")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database.scripts/order/add-four-orders.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @SneakyThrows
+    void updateOrderStatusById_InvalidTransition_ReturnsConflict() {
+        //given
+        String content = objectMapper.writeValueAsString(
+                new UpdateOrderRequestDto(OrderStatus.DELIVERED));
+
+        //when
+        MvcResult result = mockMvc.perform(patch("/api/orders/101")
+                        .content(content)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andReturn();
+
+        //then
+        assertEquals("Can't change status of order 101 from PENDING to DELIVERED",
+                result.getResponse().getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Check if a bulk status update returns the outcome of every order id")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database.scripts/order/add-four-orders.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @SneakyThrows
+    void updateOrderStatuses_Ids_ReturnsResultPerId() {
+        //given
+        BulkUpdateOrderStatusRequestDto requestDto = new BulkUpdateOrderStatusRequestDto(
+                OrderStatus.SHIPPED, List.of(101L, 102L, 104L, 999L), null);
+
+        //when
+        BulkOrderStatusUpdateDto actual = updateOrderStatuses(requestDto);
+
+        //then
+        List<OrderStatusUpdateResultDto> expected = List.of(
+                new OrderStatusUpdateResultDto(101L, Outcome.INVALID_TRANSITION,
+                        OrderStatus.PENDING),
+                new OrderStatusUpdateResultDto(102L, Outcome.UPDATED, OrderStatus.PROCESSING),
+                new OrderStatusUpdateResultDto(104L, Outcome.NOT_FOUND, null),
+                new OrderStatusUpdateResultDto(999L, Outcome.NOT_FOUND, null));
+        assertEquals(new BulkOrderStatusUpdateDto(OrderStatus.SHIPPED, 1, expected), actual);
+    }
+
+    @Test
+    @DisplayName("Check if a bulk status update by filter moves every matching order")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database.scripts/order/add-four-orders.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @SneakyThrows
+    void updateOrderStatuses_Filter_UpdatesMatchingOrders() {
+        //given
+        OrderStatusFilterDto filter = new OrderStatusFilterDto(OrderStatus.PROCESSING,
+                LocalDateTime.of(2024, 1, 3, 0, 0));
+        BulkUpdateOrderStatusRequestDto requestDto = new BulkUpdateOrderStatusRequestDto(
+                OrderStatus.CANCELLED, null, filter);
+
+        //when
+        BulkOrderStatusUpdateDto cancelled = updateOrderStatuses(requestDto);
+        BulkOrderStatusUpdateDto repeated = updateOrderStatuses(requestDto);
+
+        //then
+        assertEquals(List.of(new OrderStatusUpdateResultDto(102L, Outcome.UPDATED,
+                OrderStatus.PROCESSING)), cancelled.results());
+        assertEquals(0, repeated.updated());
+        assertEquals(List.of(), repeated.results());
+        assertEquals(OrderStatus.CANCELLED,
+                summaryRepository.findById(102L).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Check if a bulk status update with both ids and filter is rejected")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @SneakyThrows
+    void updateOrderStatuses_IdsAndFilter_ReturnsBadRequest() {
+        //given
+        BulkUpdateOrderStatusRequestDto requestDto = new BulkUpdateOrderStatusRequestDto(
+                OrderStatus.SHIPPED, List.of(1L),
+                new OrderStatusFilterDto(OrderStatus.PROCESSING, null));
+
+        //when
+        mockMvc.perform(patch("/api/orders/status")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Check if orders sorted by date are walked page by page with a cursor")
+    @Sql(scripts = "classpath:database.scripts/order/add-four-orders.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @SneakyThrows
+    void getAllAfter_SortedByOrderDate_ReturnsAllPages() {
+        //when
+        CursorPageDto<OrderDto> firstPage = getOrdersAfter("");
+        CursorPageDto<OrderDto> secondPage = getOrdersAfter(firstPage.nextCursor());
+
+        //then
+        assertEquals(List.of(103L, 102L),
+                firstPage.content().stream().map(OrderDto::id).toList());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(List.of(101L), secondPage.content().stream().map(OrderDto::id).toList());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Check if an invalid order cursor is rejected with bad request")
+    @SneakyThrows
+    void getAllAfter_InvalidCursor_ReturnsBadRequest() {
+        mockMvc.perform(get("/api/orders")
+                        .param("after", "not a cursor!")
+                        .with(principal()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    private BulkOrderStatusUpdateDto updateOrderStatuses(
+            BulkUpdateOrderStatusRequestDto requestDto) {
+        MvcResult result = mockMvc.perform(patch("/api/orders/status")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                BulkOrderStatusUpdateDto.class);
+    }
+
+    @SneakyThrows
+    private OrderDto placeOrder() {
+        MockHttpServletRequestBuilder request = post("/api/orders")
+                .with(principal())
+                .header("Idempotency-Key", IDEMPOTENCY_KEY)
+                .content(objectMapper.writeValueAsString(new CreateOrderRequestDto("address")))
+                .contentType(MediaType.APPLICATION_JSON);
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), OrderDto.class);
+    }
+
+    @SneakyThrows
+    private CursorPageDto<OrderDto> getOrdersAfter(String cursor) {
+        MvcResult result = mockMvc.perform(get("/api/orders")
+                        .param("after", cursor)
+                        .param("size", "2")
+                        .param("sort", "orderDate,desc")
+                        .with(principal()))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+    }
+
+    @SneakyThrows
+    private List<Long> getOrderIds() {
+        MvcResult result = mockMvc.perform(get("/api/orders").with(principal()))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<OrderDto> orders = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                });
+        return orders.stream().map(OrderDto::id).toList();
+    }
+
+    private static RequestPostProcessor principal() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("email@gmail.com");
+        return authentication(new UsernamePasswordAuthenticationToken(user, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
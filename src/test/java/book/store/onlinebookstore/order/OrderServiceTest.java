@@ -0,0 +1,243 @@
+package book.store.onlinebookstore.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import book.store.onlinebookstore.dto.order.CreateOrderRequestDto;
+import book.store.onlinebookstore.dto.order.OrderDto;
+import book.store.onlinebookstore.exception.EntityNotFoundException;
+import book.store.onlinebookstore.exception.IdempotencyKeyConflictException;
+import book.store.onlinebookstore.exception.IdempotencyKeyMismatchException;
+import book.store.onlinebookstore.mapper.OrderItemMapper;
+import book.store.onlinebookstore.mapper.OrderItemMapperImpl;
+import book.store.onlinebookstore.mapper.OrderMapper;
+import book.store.onlinebookstore.mapper.OrderMapperImpl;
+import book.store.onlinebookstore.mapper.OrderSummaryMapper;
+import book.store.onlinebookstore.mapper.OrderSummaryMapperImpl;
+import book.store.onlinebookstore.model.Book;
+import book.store.onlinebookstore.model.CartItem;
+import book.store.onlinebookstore.model.Order;
+import book.store.onlinebookstore.model.OrderIdempotencyKey;
+import book.store.onlinebookstore.model.OrderOutboxEvent;
+import book.store.onlinebookstore.model.OrderSummary;
+import book.store.onlinebookstore.model.ShoppingCart;
+import book.store.onlinebookstore.model.User;
+import book.store.onlinebookstore.outbox.OrderOutboxRelay;
+import book.store.onlinebookstore.pricing.PricingEngine;
+import book.store.onlinebookstore.repository.order.OrderIdempotencyKeyRepository;
+import book.store.onlinebookstore.repository.order.OrderOutboxRepository;
+import book.store.onlinebookstore.repository.order.OrderRepository;
+import book.store.onlinebookstore.repository.order.OrderSummaryRepository;
+import book.store.onlinebookstore.repository.order.item.OrderItemRepository;
+import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import book.store.onlinebookstore.repository.user.UserRepository;
+import book.store.onlinebookstore.service.InventoryService;
+import book.store.onlinebookstore.service.impl.OrderServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderServiceTest {
+    private static final String IDEMPOTENCY_KEY = "order-key";
+    private static final CreateOrderRequestDto REQUEST = new CreateOrderRequestDto("address");
+    private static final OrderIdempotencyKey.Key KEY =
+            new OrderIdempotencyKey.Key(1L, IDEMPOTENCY_KEY);
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    @Spy
+    private OrderItemMapper orderItemMapper = new OrderItemMapperImpl();
+    @Spy
+    private OrderMapper orderMapper = new OrderMapperImpl(orderItemMapper);
+    @Spy
+    private PricingEngine pricingEngine = new PricingEngine();
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private OrderOutboxRepository orderOutboxRepository;
+    @Mock
+    private OrderOutboxRelay orderOutboxRelay;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+    @Spy
+    private OrderSummaryMapper orderSummaryMapper = new OrderSummaryMapperImpl();
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @Test
+    @DisplayName("Check if a replayed Idempotency-Key returns the stored order without writes")
+    void placeOrder_ReplayedIdempotencyKey_ReturnsStoredOrder() {
+        //given
+        Order order = getDefaultOrder();
+        OrderIdempotencyKey storedKey = getStoredKey(order.getId(), REQUEST);
+        Mockito.when(idempotencyKeyRepository.insertIfAbsent(eq(1L), eq(IDEMPOTENCY_KEY), any(),
+                any()))
+                .thenReturn(0);
+        Mockito.when(idempotencyKeyRepository.findById(KEY))
+                .thenReturn(Optional.of(storedKey));
+        Mockito.when(orderRepository.findByIdAndUserId(order.getId(), 1L))
+                .thenReturn(Optional.of(order));
+
+        //when
+        OrderDto actual = orderService.placeOrder(1L, IDEMPOTENCY_KEY, REQUEST);
+
+        //then
+        assertEquals(orderMapper.toDto(order), actual);
+        verify(shoppingCartRepository, Mockito.never()).findById(1L);
+        verify(orderRepository, Mockito.never()).save(any());
+        verify(orderOutboxRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Check if a key without a stored order is reported as a conflict")
+    void placeOrder_KeyWithoutOrder_ThrowsException() {
+        //given
+        OrderIdempotencyKey storedKey = getStoredKey(null, REQUEST);
+        Mockito.when(idempotencyKeyRepository.insertIfAbsent(eq(1L), eq(IDEMPOTENCY_KEY), any(),
+                any()))
+                .thenReturn(0);
+        Mockito.when(idempotencyKeyRepository.findById(KEY))
+                .thenReturn(Optional.of(storedKey));
+
+        //then
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> orderService.placeOrder(1L, IDEMPOTENCY_KEY, REQUEST));
+    }
+
+    @Test
+    @DisplayName("Check if a key reused with a different request is rejected without writes")
+    void placeOrder_KeyReusedWithDifferentRequest_ThrowsException() {
+        //given
+        OrderIdempotencyKey storedKey = getStoredKey(7L, new CreateOrderRequestDto("other"));
+        Mockito.when(idempotencyKeyRepository.insertIfAbsent(eq(1L), eq(IDEMPOTENCY_KEY), any(),
+                any()))
+                .thenReturn(0);
+        Mockito.when(idempotencyKeyRepository.findById(KEY))
+                .thenReturn(Optional.of(storedKey));
+
+        //when
+        Exception exception = assertThrows(IdempotencyKeyMismatchException.class,
+                () -> orderService.placeOrder(1L, IDEMPOTENCY_KEY, REQUEST));
+
+        //then
+        assertEquals("Idempotency-Key " + IDEMPOTENCY_KEY
+                + " was already used with a different request", exception.getMessage());
+        verify(orderRepository, Mockito.never()).findByIdAndUserId(any(), any());
+        verify(orderRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Check if a new Idempotency-Key records the placed order")
+    void placeOrder_NewIdempotencyKey_RecordsOrderId() {
+        //given
+        User user = new User();
+        user.setId(1L);
+        Book book = new Book();
+        book.setId(1L);
+        book.setPrice(new BigDecimal("10.50"));
+        book.setCoverImage("cover.jpg");
+        CartItem cartItem = new CartItem();
+        cartItem.setBook(book);
+        cartItem.setQuantity(2);
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.setId(1L);
+        shoppingCart.addCartItem(cartItem);
+        Mockito.when(idempotencyKeyRepository.insertIfAbsent(eq(1L), eq(IDEMPOTENCY_KEY), any(),
+                any()))
+                .thenReturn(1);
+        Mockito.when(shoppingCartRepository.findById(1L)).thenReturn(Optional.of(shoppingCart));
+        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        Mockito.when(orderRepository.save(any())).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(7L);
+            return order;
+        });
+
+        //when
+        OrderDto actual = orderService.placeOrder(1L, IDEMPOTENCY_KEY, REQUEST);
+
+        //then
+        assertEquals(new BigDecimal("21.00"), actual.total());
+        verify(inventoryService).reserve(Map.of(1L, 2));
+        verify(idempotencyKeyRepository).setOrderId(1L, IDEMPOTENCY_KEY, 7L);
+        verify(shoppingCartRepository).deleteById(1L);
+        ArgumentCaptor<OrderOutboxEvent> event = ArgumentCaptor.forClass(OrderOutboxEvent.class);
+        verify(orderOutboxRepository).save(event.capture());
+        assertEquals(7L, event.getValue().getOrderId());
+        assertEquals(OrderOutboxEvent.EventType.ORDER_PLACED, event.getValue().getEventType());
+        ArgumentCaptor<OrderSummary> summary = ArgumentCaptor.forClass(OrderSummary.class);
+        verify(orderSummaryRepository).save(summary.capture());
+        assertEquals(7L, summary.getValue().getOrderId());
+        assertEquals(1, summary.getValue().getItemCount());
+        assertEquals("cover.jpg", summary.getValue().getCoverImage());
+    }
+
+    @Test
+    @DisplayName("Check if items of another user order are not found")
+    void getOrderItemsByOrderId_NotOwnedOrder_ThrowsException() {
+        //given
+        Mockito.when(orderItemRepository.findAllByOrderIdAndOrderUserIdOrderById(5L, 1L))
+                .thenReturn(List.of());
+        Mockito.when(orderRepository.existsByIdAndUserId(5L, 1L)).thenReturn(false);
+
+        //when
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> orderService.getOrderItemsByOrderId(1L, 5L));
+
+        //then
+        assertEquals("Can't find order by id 5", exception.getMessage());
+        verify(orderRepository, Mockito.never()).findByIdAndUserId(any(), any());
+    }
+
+    @SneakyThrows
+    private OrderIdempotencyKey getStoredKey(Long orderId, CreateOrderRequestDto request) {
+        OrderIdempotencyKey storedKey = new OrderIdempotencyKey();
+        storedKey.setKey(KEY);
+        storedKey.setOrderId(orderId);
+        storedKey.setPayloadHash(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsBytes(request))));
+        return storedKey;
+    }
+
+    private Order getDefaultOrder() {
+        User user = new User();
+        user.setId(1L);
+        Order order = new Order();
+        order.setId(5L);
+        order.setUser(user);
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setOrderDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        order.setShippingAddress("address");
+        order.setTotal(BigDecimal.TEN);
+        return order;
+    }
+}
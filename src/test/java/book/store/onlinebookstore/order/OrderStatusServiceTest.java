@@ -0,0 +1,235 @@
+package book.store.onlinebookstore.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import book.store.onlinebookstore.dto.order.BulkOrderStatusUpdateDto;
+import book.store.onlinebookstore.dto.order.BulkUpdateOrderStatusRequestDto;
+import book.store.onlinebookstore.dto.order.OrderStatusDto;
+import book.store.onlinebookstore.dto.order.OrderStatusFilterDto;
+import book.store.onlinebookstore.dto.order.OrderStatusUpdateResultDto;
+import book.store.onlinebookstore.dto.order.OrderStatusUpdateResultDto.Outcome;
+import book.store.onlinebookstore.dto.order.UpdateOrderRequestDto;
+import book.store.onlinebookstore.exception.EntityNotFoundException;
+import book.store.onlinebookstore.exception.InvalidStatusTransitionException;
+import book.store.onlinebookstore.model.Order.OrderStatus;
+import book.store.onlinebookstore.repository.order.OrderRepository;
+import book.store.onlinebookstore.repository.order.OrderStatusView;
+import book.store.onlinebookstore.repository.order.OrderSummaryRepository;
+import book.store.onlinebookstore.service.impl.OrderStatusServiceImpl;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderStatusServiceTest {
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private OrderStatusServiceImpl orderStatusService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatusService = new OrderStatusServiceImpl(orderRepository,
+                orderSummaryRepository, transactionTemplate, CHUNK_SIZE);
+        Mockito.lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation
+                        .<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Check if a single status update returns the slim status without the order")
+    void updateOrderStatus_ExistingOrder_ReturnsStatus() {
+        //given
+        Mockito.when(orderRepository.updateStatus(1L, OrderStatus.SHIPPED,
+                Set.of(OrderStatus.PROCESSING), false)).thenReturn(1);
+
+        //when
+        OrderStatusDto actual = orderStatusService.updateOrderStatus(1L,
+                new UpdateOrderRequestDto(OrderStatus.SHIPPED));
+
+        //then
+        assertEquals(new OrderStatusDto(1L, OrderStatus.SHIPPED), actual);
+        verify(orderSummaryRepository).updateStatus(1L, OrderStatus.SHIPPED);
+        verify(orderRepository, Mockito.never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Check if a single status update of a missing order throws exception")
+    void updateOrderStatus_MissingOrder_ThrowsException() {
+        //given
+        Mockito.when(orderRepository.updateStatus(100L, OrderStatus.SHIPPED,
+                Set.of(OrderStatus.PROCESSING), false)).thenReturn(0);
+
+        //when
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> orderStatusService.updateOrderStatus(100L,
+                        new UpdateOrderRequestDto(OrderStatus.SHIPPED)));
+
+        //then
+        assertEquals("Can't find order by id 100", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Check if a single status update of a delivered order throws exception")
+    void updateOrderStatus_InvalidTransition_ThrowsException() {
+        //given
+        Mockito.when(orderRepository.updateStatus(1L, OrderStatus.CANCELLED,
+                Set.of(OrderStatus.PENDING, OrderStatus.PROCESSING), true)).thenReturn(0);
+        Mockito.when(orderRepository.findStatusById(1L))
+                .thenReturn(Optional.of(view(1L, OrderStatus.DELIVERED)));
+
+        //when
+        Exception exception = assertThrows(InvalidStatusTransitionException.class,
+                () -> orderStatusService.updateOrderStatus(1L,
+                        new UpdateOrderRequestDto(OrderStatus.CANCELLED)));
+
+        //then
+        assertEquals("Can't change status of order 1 from DELIVERED to CANCELLED",
+                exception.getMessage());
+        verify(orderSummaryRepository, Mockito.never()).updateStatus(1L, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Check if a cancelled order is flagged for the sales rollup reversal")
+    void updateOrderStatus_Cancelled_FlagsRollupReversal() {
+        //given
+        Mockito.when(orderRepository.updateStatus(1L, OrderStatus.CANCELLED,
+                Set.of(OrderStatus.PENDING, OrderStatus.PROCESSING), true)).thenReturn(1);
+
+        //when
+        OrderStatusDto actual = orderStatusService.updateOrderStatus(1L,
+                new UpdateOrderRequestDto(OrderStatus.CANCELLED));
+
+        //then
+        assertEquals(new OrderStatusDto(1L, OrderStatus.CANCELLED), actual);
+        verify(orderSummaryRepository).updateStatus(1L, OrderStatus.CANCELLED);
+        verify(orderRepository, Mockito.never()).findStatusById(any());
+    }
+
+    @Test
+    @DisplayName("Check if only orders cancelled by a bulk update are flagged for reversal")
+    void updateOrderStatuses_Cancelled_FlagsUpdatedOrders() {
+        //given
+        Mockito.when(orderRepository.findStatusesForUpdate(List.of(1L, 2L))).thenReturn(List.of(
+                view(1L, OrderStatus.PENDING), view(2L, OrderStatus.DELIVERED)));
+
+        //when
+        BulkOrderStatusUpdateDto actual = orderStatusService.updateOrderStatuses(
+                new BulkUpdateOrderStatusRequestDto(OrderStatus.CANCELLED, List.of(1L, 2L),
+                        null));
+
+        //then
+        assertEquals(1, actual.updated());
+        verify(orderRepository).updateStatus(List.of(1L), OrderStatus.CANCELLED, true);
+        verify(orderSummaryRepository).updateStatus(List.of(1L), OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Check if a single status update to the current status changes nothing")
+    void updateOrderStatus_SameStatus_ReturnsStatus() {
+        //given
+        Mockito.when(orderRepository.updateStatus(1L, OrderStatus.SHIPPED,
+                Set.of(OrderStatus.PROCESSING), false)).thenReturn(0);
+        Mockito.when(orderRepository.findStatusById(1L))
+                .thenReturn(Optional.of(view(1L, OrderStatus.SHIPPED)));
+
+        //when
+        OrderStatusDto actual = orderStatusService.updateOrderStatus(1L,
+                new UpdateOrderRequestDto(OrderStatus.SHIPPED));
+
+        //then
+        assertEquals(new OrderStatusDto(1L, OrderStatus.SHIPPED), actual);
+        verify(orderSummaryRepository, Mockito.never()).updateStatus(1L, OrderStatus.SHIPPED);
+    }
+
+    @Test
+    @DisplayName("Check if orders selected by ids are validated and updated chunk by chunk")
+    void updateOrderStatuses_Ids_ReturnsResultPerId() {
+        //given
+        Mockito.when(orderRepository.findStatusesForUpdate(List.of(1L, 2L))).thenReturn(List.of(
+                view(1L, OrderStatus.PENDING), view(2L, OrderStatus.PROCESSING)));
+        Mockito.when(orderRepository.findStatusesForUpdate(List.of(3L, 4L))).thenReturn(List.of(
+                view(3L, OrderStatus.DELIVERED), view(4L, OrderStatus.SHIPPED)));
+        Mockito.when(orderRepository.findStatusesForUpdate(List.of(5L))).thenReturn(List.of());
+        BulkUpdateOrderStatusRequestDto requestDto = new BulkUpdateOrderStatusRequestDto(
+                OrderStatus.SHIPPED, List.of(1L, 2L, 3L, 4L, 5L, 2L), null);
+
+        //when
+        BulkOrderStatusUpdateDto actual = orderStatusService.updateOrderStatuses(requestDto);
+
+        //then
+        List<OrderStatusUpdateResultDto> expected = List.of(
+                new OrderStatusUpdateResultDto(1L, Outcome.INVALID_TRANSITION,
+                        OrderStatus.PENDING),
+                new OrderStatusUpdateResultDto(2L, Outcome.UPDATED, OrderStatus.PROCESSING),
+                new OrderStatusUpdateResultDto(3L, Outcome.INVALID_TRANSITION,
+                        OrderStatus.DELIVERED),
+                new OrderStatusUpdateResultDto(4L, Outcome.UNCHANGED, OrderStatus.SHIPPED),
+                new OrderStatusUpdateResultDto(5L, Outcome.NOT_FOUND, null));
+        assertEquals(new BulkOrderStatusUpdateDto(OrderStatus.SHIPPED, 1, expected), actual);
+        verify(orderRepository).updateStatus(List.of(2L), OrderStatus.SHIPPED, false);
+        verify(orderSummaryRepository).updateStatus(List.of(2L), OrderStatus.SHIPPED);
+        verify(orderRepository, Mockito.times(1)).updateStatus(anyCollection(), any(),
+                anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Check if orders selected by a filter are updated in keyset chunks")
+    void updateOrderStatuses_Filter_UpdatesEveryChunk() {
+        //given
+        OrderStatusFilterDto filter = new OrderStatusFilterDto(OrderStatus.PROCESSING, null);
+        Mockito.when(orderRepository.findStatusesForUpdate(eq(OrderStatus.PROCESSING), eq(null),
+                eq(0L), eq(PageRequest.ofSize(CHUNK_SIZE)))).thenReturn(List.of(
+                view(10L, OrderStatus.PROCESSING), view(11L, OrderStatus.PROCESSING)));
+        Mockito.when(orderRepository.findStatusesForUpdate(eq(OrderStatus.PROCESSING), eq(null),
+                eq(11L), eq(PageRequest.ofSize(CHUNK_SIZE)))).thenReturn(List.of(
+                view(12L, OrderStatus.PROCESSING)));
+
+        //when
+        BulkOrderStatusUpdateDto actual = orderStatusService.updateOrderStatuses(
+                new BulkUpdateOrderStatusRequestDto(OrderStatus.SHIPPED, null, filter));
+
+        //then
+        assertEquals(3, actual.updated());
+        assertEquals(List.of(10L, 11L, 12L), actual.results().stream()
+                .map(OrderStatusUpdateResultDto::orderId)
+                .toList());
+        verify(orderRepository).updateStatus(List.of(10L, 11L), OrderStatus.SHIPPED, false);
+        verify(orderRepository).updateStatus(List.of(12L), OrderStatus.SHIPPED, false);
+    }
+
+    private static OrderStatusView view(Long id, OrderStatus status) {
+        return new OrderStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package book.store.onlinebookstore.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import book.store.onlinebookstore.pricing.PriceBreakdown;
+import book.store.onlinebookstore.pricing.PricedLine;
+import book.store.onlinebookstore.pricing.PricingEngine;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PricingEngineTest {
+    private final PricingEngine pricingEngine = new PricingEngine();
+
+    @Test
+    @DisplayName("Check if line totals are rounded half up to two decimal places")
+    void lineTotal_FractionalPrice_ReturnsRoundedTotal() {
+        //when
+        BigDecimal actual = pricingEngine.lineTotal(new BigDecimal("0.125"), 3);
+
+        //then
+        assertEquals(new BigDecimal("0.38"), actual);
+    }
+
+    @Test
+    @DisplayName("Check if every line and the total are priced in one pass")
+    void price_SeveralLines_ReturnsLineTotalsAndTotal() {
+        //given
+        List<Map.Entry<BigDecimal, Integer>> items = List.of(
+                Map.entry(new BigDecimal("100.99"), 2),
+                Map.entry(new BigDecimal("100.99"), 2),
+                Map.entry(new BigDecimal("0.333"), 1));
+
+        //when
+        PriceBreakdown<Map.Entry<BigDecimal, Integer>> actual = pricingEngine.price(items,
+                Map.Entry::getKey, Map.Entry::getValue);
+
+        //then
+        assertEquals(List.of(new BigDecimal("201.98"), new BigDecimal("201.98"),
+                new BigDecimal("0.33")), actual.lines().stream().map(PricedLine::total).toList());
+        assertEquals(new BigDecimal("404.29"), actual.total());
+    }
+
+    @Test
+    @DisplayName("Check if an empty order is priced at zero with the fixed scale")
+    void price_NoLines_ReturnsZero() {
+        //when
+        PriceBreakdown<Object> actual = pricingEngine.price(List.of(), item -> BigDecimal.ONE,
+                item -> 1);
+
+        //then
+        assertEquals(new BigDecimal("0.00"), actual.total());
+    }
+}
@@ -0,0 +1,46 @@
+package book.store.onlinebookstore.outbox;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InMemoryOrderEventSink implements OrderEventSink {
+    private final List<OrderEvent> events = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @Override
+    public void send(List<OrderEvent> batch) throws IOException {
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending order events", e);
+        }
+        if (failures.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+            throw new IOException("Sink is unavailable");
+        }
+        events.addAll(batch);
+    }
+
+    public List<Long> eventIds() {
+        return events.stream().map(OrderEvent::id).toList();
+    }
+
+    public void failNext(int times) {
+        failures.set(times);
+    }
+
+    public CountDownLatch block() {
+        gate = new CountDownLatch(1);
+        return gate;
+    }
+
+    public void reset() {
+        events.clear();
+        failures.set(0);
+        gate = new CountDownLatch(0);
+    }
+}
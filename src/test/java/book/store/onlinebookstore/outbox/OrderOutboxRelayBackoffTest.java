@@ -0,0 +1,106 @@
+package book.store.onlinebookstore.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.onlinebookstore.model.OrderOutboxEvent;
+import book.store.onlinebookstore.repository.order.OrderOutboxRepository;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class OrderOutboxRelayBackoffTest {
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(2);
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Test
+    @DisplayName("Check if failed events are retried after a doubling delay up to the maximum")
+    void drain_FailingSink_ReschedulesWithCappedBackoff() {
+        //given
+        OrderOutboxRepository outboxRepository = mockRepository(
+                getEvent(1L, 0), getEvent(2L, 1), getEvent(3L, 3));
+        OrderOutboxRelay relay = getFailingRelay(outboxRepository);
+        LocalDateTime before = LocalDateTime.now();
+
+        //when
+        int drained = relay.drain();
+        relay.shutdown();
+
+        //then
+        assertEquals(0, drained);
+        assertRescheduledAfter(outboxRepository, 1L, before, RETRY_DELAY);
+        assertRescheduledAfter(outboxRepository, 2L, before, RETRY_DELAY.multipliedBy(2));
+        assertRescheduledAfter(outboxRepository, 3L, before, MAX_RETRY_DELAY);
+        verify(outboxRepository, never()).updateStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("Check if an event failing its last attempt is marked as failed")
+    void drain_LastAttemptFails_MarksEventFailed() {
+        //given
+        OrderOutboxRepository outboxRepository = mockRepository(
+                getEvent(1L, MAX_ATTEMPTS - 1));
+        OrderOutboxRelay relay = getFailingRelay(outboxRepository);
+
+        //when
+        relay.drain();
+        relay.shutdown();
+
+        //then
+        verify(outboxRepository).updateStatus(List.of(1L), OrderOutboxEvent.Status.FAILED);
+        verify(outboxRepository, never()).reschedule(any(), any());
+        assertEquals(1, relay.stats().abandoned());
+    }
+
+    private void assertRescheduledAfter(OrderOutboxRepository outboxRepository, Long id,
+                                        LocalDateTime before, Duration delay) {
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(
+                LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(List.of(id)), nextAttemptAt.capture());
+        assertFalse(nextAttemptAt.getValue().isBefore(before.plus(delay)));
+        assertTrue(nextAttemptAt.getValue().isBefore(LocalDateTime.now().plus(delay)));
+    }
+
+    private OrderOutboxRepository mockRepository(OrderOutboxEvent... events) {
+        OrderOutboxRepository outboxRepository = mock(OrderOutboxRepository.class);
+        when(outboxRepository.findDueForUpdate(any(), any(), any()))
+                .thenReturn(List.of(events))
+                .thenReturn(List.of());
+        return outboxRepository;
+    }
+
+    private OrderOutboxRelay getFailingRelay(OrderOutboxRepository outboxRepository) {
+        OrderEventSink sink = events -> {
+            throw new IOException("Sink is unavailable");
+        };
+        return new OrderOutboxRelay(outboxRepository, List.of(sink),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 1, 1, 100,
+                RETRY_DELAY, MAX_ATTEMPTS, MAX_RETRY_DELAY, new MockEnvironment());
+    }
+
+    private OrderOutboxEvent getEvent(Long id, int attempts) {
+        OrderOutboxEvent event = new OrderOutboxEvent();
+        event.setId(id);
+        event.setOrderId(100L + id);
+        event.setEventType(OrderOutboxEvent.EventType.ORDER_PLACED);
+        event.setPayload("{}");
+        event.setAttempts(attempts);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,165 @@
+package book.store.onlinebookstore.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.onlinebookstore.dto.order.OrderOutboxStatsDto;
+import book.store.onlinebookstore.model.OrderOutboxEvent;
+import book.store.onlinebookstore.repository.order.OrderOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest(properties = {
+        "outbox.relay.retry-delay=PT0S",
+        "outbox.relay.batch-size=2",
+        "outbox.relay.max-in-flight-batches=1",
+        "outbox.relay.max-attempts=3"})
+@Sql(scripts = "classpath:database.scripts/outbox/add-three-outbox-events.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database.scripts/outbox/delete-outbox-events.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderOutboxRelayTest {
+    private static final long POLL_TIMEOUT_MILLIS = 10_000L;
+    private static final long POLL_STEP_MILLIS = 20L;
+
+    @Autowired
+    private OrderOutboxRelay relay;
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+    @Autowired
+    private InMemoryOrderEventSink sink;
+
+    @BeforeEach
+    void resetSink() {
+        sink.reset();
+    }
+
+    @Test
+    @DisplayName("Check if pending events are delivered in order and removed")
+    void drain_PendingEvents_DeliversAndRemovesEvents() {
+        //when
+        int drained = relay.drain();
+
+        //then
+        assertEquals(3, drained);
+        assertEquals(List.of(1L, 2L, 3L), sink.eventIds());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    @DisplayName("Check if events are kept and redelivered when a sink fails")
+    void drain_FailingSink_RedeliversEvents() {
+        //given
+        long failedBefore = relay.stats().failed();
+        sink.failNext(1);
+
+        //when
+        int firstDrain = relay.drain();
+        int secondDrain = relay.drain();
+
+        //then
+        assertEquals(0, firstDrain);
+        assertEquals(2, relay.stats().failed() - failedBefore);
+        assertEquals(3, secondDrain);
+        assertEquals(List.of(1L, 2L, 3L), sink.eventIds());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    @DisplayName("Check if events are marked as failed and skipped after their last attempt")
+    void drain_SinkFailsEveryAttempt_MarksEventsFailed() {
+        //given
+        final long abandonedBefore = relay.stats().abandoned();
+        sink.failNext(3);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, relay.drain());
+        }
+        int drained = relay.drain();
+
+        //then
+        assertEquals(1, drained);
+        assertEquals(List.of(3L), sink.eventIds());
+        assertEquals(List.of(OrderOutboxEvent.Status.FAILED, OrderOutboxEvent.Status.FAILED),
+                outboxRepository.findAll().stream().map(OrderOutboxEvent::getStatus).toList());
+        assertEquals(List.of(3, 3), outboxRepository.findAll().stream()
+                .map(OrderOutboxEvent::getAttempts)
+                .toList());
+        assertEquals(2, relay.stats().abandoned() - abandonedBefore);
+        assertEquals(0, relay.stats().pending());
+    }
+
+    @Test
+    @DisplayName("Check if the relay stops claiming while a slow sink holds every batch slot")
+    void poll_SlowSink_AppliesBackpressure() throws InterruptedException {
+        //given
+        final long backpressuredBefore = relay.stats().backpressured();
+        CountDownLatch blocked = sink.block();
+
+        //when
+        relay.poll();
+        final OrderOutboxStatsDto whileBlocked = relay.stats();
+        final List<Integer> attempts = outboxRepository.findAll().stream()
+                .map(OrderOutboxEvent::getAttempts)
+                .sorted()
+                .toList();
+        blocked.countDown();
+        awaitPending(1);
+        relay.poll();
+        awaitPending(0);
+
+        //then
+        assertEquals(1, whileBlocked.inFlightBatches());
+        assertEquals(1, whileBlocked.backpressured() - backpressuredBefore);
+        assertEquals(List.of(0, 1, 1), attempts);
+        assertEquals(List.of(1L, 2L, 3L), sink.eventIds());
+    }
+
+    @Test
+    @DisplayName("Check if outbox gauges report the backlog read by the last poll")
+    void bindTo_AfterPoll_ReportsBacklogOfLastPoll() throws InterruptedException {
+        //given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        relay.bindTo(registry);
+
+        //when
+        relay.poll();
+        final double pending = registry.get("outbox.pending").gauge().value();
+        final double lag = registry.get("outbox.lag").gauge().value();
+        awaitPending(1);
+        relay.poll();
+        awaitPending(0);
+
+        //then
+        assertEquals(3, pending);
+        assertTrue(lag > 0);
+    }
+
+    private void awaitPending(long pending) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + POLL_TIMEOUT_MILLIS;
+        while ((outboxRepository.count() != pending || relay.stats().inFlightBatches() > 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_STEP_MILLIS);
+        }
+        assertEquals(pending, outboxRepository.count());
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        InMemoryOrderEventSink inMemoryOrderEventSink() {
+            return new InMemoryOrderEventSink();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package book.store.onlinebookstore.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.onlinebookstore.model.OrderOutboxEvent;
+import book.store.onlinebookstore.repository.order.OrderOutboxRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class OrderOutboxRelayWithoutSinkTest {
+    @Test
+    @DisplayName("Check if events are logged and removed when no sink is configured")
+    void drain_NoSinkConfigured_RemovesEvents() {
+        //given
+        OrderOutboxRepository outboxRepository = mock(OrderOutboxRepository.class);
+        when(outboxRepository.findDueForUpdate(any(), any(), any()))
+                .thenReturn(List.of(getEvent(1L), getEvent(2L)))
+                .thenReturn(List.of());
+        OrderOutboxRelay relay = new OrderOutboxRelay(outboxRepository, List.of(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 1, 1, 100,
+                Duration.ofSeconds(30), 10, Duration.ofHours(1), new MockEnvironment());
+
+        //when
+        int drained = relay.drain();
+        relay.shutdown();
+
+        //then
+        assertEquals(2, drained);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    private OrderOutboxEvent getEvent(Long id) {
+        OrderOutboxEvent event = new OrderOutboxEvent();
+        event.setId(id);
+        event.setOrderId(100L + id);
+        event.setEventType(OrderOutboxEvent.EventType.ORDER_PLACED);
+        event.setPayload("{}");
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
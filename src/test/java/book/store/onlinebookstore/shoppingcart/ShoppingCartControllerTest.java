@@ -1,7 +1,9 @@
 package book.store.onlinebookstore.shoppingcart;
 
+import static book.store.onlinebookstore.metrics.SqlStatementBudgets.sqlStatementBudgets;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -9,24 +11,35 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import book.store.onlinebookstore.dto.cartitem.CartItemBatchRequestDto;
 import book.store.onlinebookstore.dto.cartitem.CartItemDto;
+import book.store.onlinebookstore.dto.cartitem.CartItemOperationDto;
 import book.store.onlinebookstore.dto.cartitem.CreateCartItemRequestDto;
 import book.store.onlinebookstore.dto.cartitem.UpdateCartItemRequestDto;
 import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartSummaryDto;
+import book.store.onlinebookstore.model.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import lombok.SneakyThrows;
-import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -42,6 +55,7 @@ import org.springframework.web.context.WebApplicationContext;
 public class ShoppingCartControllerTest {
     private static MockMvc mockMvc;
     private static final String DEFAULT_USERNAME = "email@gmail.com";
+    private static final int CONCURRENT_REQUESTS = 8;
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -50,25 +64,24 @@ public class ShoppingCartControllerTest {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(applicationContext)
                 .apply(springSecurity())
+                .apply(sqlStatementBudgets())
                 .build();
     }
 
     @Test
-    @DisplayName("Check if new cart item is added")
-    @WithMockUser(username = DEFAULT_USERNAME)
+    @DisplayName("Check if new cart item is added and the shopping cart is returned")
     @Sql(scripts = "classpath:database.scripts/shoppingcart/delete-shopping-cart.sql",
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
             executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
     @SneakyThrows
-    void addCartItem_ValidRequestDto_ReturnsShoppingCart() {
+    void addCartItem_ValidRequestDto_ReturnsShoppingCartDto() {
         //given
         var requestDto = new CreateCartItemRequestDto(1L, 10);
-        CartItemDto cartItemDto = new CartItemDto(1L, "test-book1", 10);
-        var expected = new ShoppingCartDto(1L, 1L, Set.of(cartItemDto));
 
         //when
         MvcResult result = mockMvc.perform(post("/api/cart")
+                        .with(principal())
                         .content(objectMapper.writeValueAsString(requestDto))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isCreated())
@@ -77,13 +90,83 @@ public class ShoppingCartControllerTest {
         //then
         ShoppingCartDto actual = objectMapper.readValue(result.getResponse().getContentAsString(),
                 ShoppingCartDto.class);
-        assertNotNull(actual);
-        EqualsBuilder.reflectionEquals(expected, actual, "id");
+        assertEquals(1L, actual.userId());
+        assertEquals(List.of("test-book1:10"), actual.cartItems().stream()
+                .map(cartItem -> cartItem.bookTitle() + ":" + cartItem.quantity())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Check if shopping cart summary follows added and repeated items")
+    @Sql(scripts = "classpath:database.scripts/shoppingcart/delete-shopping-cart.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void getShoppingCartSummary_AddedAndUpdatedItems_ReturnsSummary() {
+        //given
+        for (CreateCartItemRequestDto requestDto : List.of(
+                new CreateCartItemRequestDto(1L, 2),
+                new CreateCartItemRequestDto(2L, 1),
+                new CreateCartItemRequestDto(1L, 3))) {
+            mockMvc.perform(post("/api/cart")
+                            .with(principal())
+                            .content(objectMapper.writeValueAsString(requestDto))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isCreated());
+        }
+        var expected = new ShoppingCartSummaryDto(1L, 2, 6, new BigDecimal("705.94"));
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/cart/summary").with(principal()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        ShoppingCartSummaryDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), ShoppingCartSummaryDto.class);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Check if concurrent adds of one book don't lose quantity")
+    @Sql(scripts = "classpath:database.scripts/shoppingcart/delete-shopping-cart.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void addCartItem_ConcurrentAddsOfSameBook_SumsQuantities() {
+        //given
+        var requestDto = new CreateCartItemRequestDto(3L, 1);
+        String content = objectMapper.writeValueAsString(requestDto);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        List<Future<MvcResult>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            results.add(executor.submit(() -> mockMvc.perform(post("/api/cart")
+                            .with(principal())
+                            .content(content)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andReturn()));
+        }
+        executor.shutdown();
+        for (Future<MvcResult> result : results) {
+            assertEquals(201, result.get().getResponse().getStatus());
+        }
+        MvcResult result = mockMvc.perform(get("/api/cart/summary").with(principal()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        ShoppingCartSummaryDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), ShoppingCartSummaryDto.class);
+        assertEquals(new ShoppingCartSummaryDto(1L, 1, CONCURRENT_REQUESTS,
+                new BigDecimal("2407.92")), actual);
     }
 
     @Test
     @DisplayName("Check if shopping cart is returned")
-    @WithMockUser(username = DEFAULT_USERNAME)
     @Sql(scripts = {"classpath:database.scripts/shoppingcart/item/add-three-cart-items.sql"},
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
@@ -99,6 +182,7 @@ public class ShoppingCartControllerTest {
 
         //when
         MvcResult result = mockMvc.perform(get("/api/cart")
+                        .with(principal())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andReturn();
@@ -112,7 +196,6 @@ public class ShoppingCartControllerTest {
 
     @Test
     @DisplayName("Check if cart item quantity is updated")
-    @WithMockUser(username = DEFAULT_USERNAME)
     @Sql(scripts = {"classpath:database.scripts/shoppingcart/item/add-three-cart-items.sql"},
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
@@ -129,6 +212,7 @@ public class ShoppingCartControllerTest {
 
         //when
         MvcResult result = mockMvc.perform(put("/api/cart/cart-items/1")
+                        .with(principal())
                         .content(objectMapper.writeValueAsString(requestDto))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -143,7 +227,6 @@ public class ShoppingCartControllerTest {
 
     @Test
     @DisplayName("Check if cart item is deleted from shopping cart")
-    @WithMockUser(username = DEFAULT_USERNAME)
     @Sql(scripts = {"classpath:database.scripts/shoppingcart/item/add-three-cart-items.sql"},
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
@@ -158,6 +241,7 @@ public class ShoppingCartControllerTest {
 
         //when
         MvcResult result = mockMvc.perform(delete("/api/cart/cart-items/3")
+                        .with(principal())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andReturn();
@@ -168,4 +252,70 @@ public class ShoppingCartControllerTest {
         assertNotNull(actual);
         assertEquals(expected, actual);
     }
+
+    @Test
+    @DisplayName("Check if batch of cart item operations is applied in one request")
+    @Sql(scripts = {"classpath:database.scripts/shoppingcart/item/add-three-cart-items.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void applyCartItemOperations_ValidOperations_ReturnsUpdatedShoppingCart() {
+        //given
+        var requestDto = new CartItemBatchRequestDto(List.of(
+                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 1L, 5),
+                new CartItemOperationDto(CartItemOperationDto.Type.REMOVE, 3L, null),
+                new CartItemOperationDto(CartItemOperationDto.Type.SET_QUANTITY, 2L, 1)));
+        var expected = new ShoppingCartDto(1L, 1L, Set.of(
+                new CartItemDto(1L, "test-book1", 10),
+                new CartItemDto(2L, "test-book2", 1)));
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/cart/batch")
+                        .with(principal())
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult summary = mockMvc.perform(get("/api/cart/summary").with(principal()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        ShoppingCartDto actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                ShoppingCartDto.class);
+        assertEquals(expected, actual);
+        assertEquals(new ShoppingCartSummaryDto(1L, 2, 11, new BigDecimal("1210.89")),
+                objectMapper.readValue(summary.getResponse().getContentAsString(),
+                        ShoppingCartSummaryDto.class));
+    }
+
+    @Test
+    @DisplayName("Check if batch referencing a missing book is rejected")
+    @SneakyThrows
+    void applyCartItemOperations_MissingBook_ReturnsNotFound() {
+        //given
+        var requestDto = new CartItemBatchRequestDto(List.of(
+                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 1L, 1),
+                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 100L, 1)));
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/cart/batch")
+                        .with(principal())
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        //then
+        assertEquals("Can't find books by ids [100]", result.getResponse().getContentAsString());
+    }
+
+    private static RequestPostProcessor principal() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(DEFAULT_USERNAME);
+        return authentication(new UsernamePasswordAuthenticationToken(user, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
 }
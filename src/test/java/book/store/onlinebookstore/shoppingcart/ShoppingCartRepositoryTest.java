@@ -1,7 +1,12 @@
 package book.store.onlinebookstore.shoppingcart;
 
+import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartSummaryDto;
 import book.store.onlinebookstore.model.ShoppingCart;
+import book.store.onlinebookstore.pricing.PricingEngine;
 import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -37,4 +42,38 @@ public class ShoppingCartRepositoryTest {
         Assertions.assertTrue(actual.isPresent());
         Assertions.assertEquals(expected, actual.get());
     }
+
+    @Test
+    @DisplayName("Check if recalculated subtotals round like the pricing engine")
+    @Sql(scripts = {
+            "classpath:database.scripts/book/add-three-books.sql",
+            "classpath:database.scripts/user/add-user.sql",
+            "classpath:database.scripts/shoppingcart/add-shopping-cart.sql",
+            "classpath:database.scripts/shoppingcart/item/add-three-cart-items.sql"
+    }, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {
+            "classpath:database.scripts/shoppingcart/item/delete-cart-items.sql",
+            "classpath:database.scripts/shoppingcart/delete-shopping-cart.sql",
+            "classpath:database.scripts/user/delete-user.sql",
+            "classpath:database.scripts/book/clear-book-table.sql"
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void recalculateSubtotals_BookInCart_MatchesPricingEngine() {
+        //given
+        Map<BigDecimal, Integer> lines = Map.of(
+                new BigDecimal("100.99"), 5,
+                new BigDecimal("200.99"), 10,
+                new BigDecimal("300.99"), 15);
+        BigDecimal expected = new PricingEngine()
+                .price(lines.entrySet(), Map.Entry::getKey, Map.Entry::getValue)
+                .total();
+
+        //when
+        int updated = shoppingCartRepository.recalculateSubtotals(List.of(1L));
+        Optional<ShoppingCartSummaryDto> actual = shoppingCartRepository.findSummaryById(1L);
+
+        //then
+        Assertions.assertEquals(1, updated);
+        Assertions.assertTrue(actual.isPresent());
+        Assertions.assertEquals(expected, actual.get().subtotal());
+    }
 }
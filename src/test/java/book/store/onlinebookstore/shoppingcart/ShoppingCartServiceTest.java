@@ -5,8 +5,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 
 import book.store.onlinebookstore.dto.cartitem.CartItemDto;
+import book.store.onlinebookstore.dto.cartitem.CartItemOperationDto;
 import book.store.onlinebookstore.dto.cartitem.CreateCartItemRequestDto;
 import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import book.store.onlinebookstore.dto.shoppingcart.ShoppingCartSummaryDto;
 import book.store.onlinebookstore.exception.EntityNotFoundException;
 import book.store.onlinebookstore.mapper.CartItemMapper;
 import book.store.onlinebookstore.mapper.CartItemMapperImpl;
@@ -16,17 +18,20 @@ import book.store.onlinebookstore.model.Book;
 import book.store.onlinebookstore.model.CartItem;
 import book.store.onlinebookstore.model.ShoppingCart;
 import book.store.onlinebookstore.model.User;
+import book.store.onlinebookstore.pricing.PricingEngine;
 import book.store.onlinebookstore.repository.book.BookRepository;
 import book.store.onlinebookstore.repository.cartitem.CartItemRepository;
 import book.store.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
-import book.store.onlinebookstore.repository.user.UserRepository;
 import book.store.onlinebookstore.service.impl.ShoppingCartServiceImpl;
+import java.math.BigDecimal;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -46,86 +51,44 @@ public class ShoppingCartServiceTest {
     private CartItemRepository cartItemRepository;
     @Mock
     private BookRepository bookRepository;
-    @Mock
-    private UserRepository userRepository;
+    @Spy
+    private PricingEngine pricingEngine = new PricingEngine();
     @Mock
     private Authentication authentication;
     @InjectMocks
     private ShoppingCartServiceImpl shoppingCartService;
 
     @Test
-    @DisplayName("Check adding cart item shopping cart and if shopping cart dto is returned")
-    void addCartItem_NotCreatedShoppingCartAndNewCartItem_ReturnsShoppingCartDto() {
-        //given
-        var requestDto = new CreateCartItemRequestDto(1L, 2);
-        User user = getDefaultUser();
-
-        CartItemDto cartItemDto = new CartItemDto(null, "Test book", requestDto.quantity());
-        Book book = new Book();
-        book.setTitle(cartItemDto.bookTitle());
-
-        Mockito.when(bookRepository.existsById(requestDto.bookId())).thenReturn(true);
-        Mockito.when(cartItemRepository.findCartItemByShoppingCartIdAndBookId(user.getId(),
-                requestDto.bookId())).thenReturn(Optional.empty());
-        Mockito.when(bookRepository.getReferenceById(requestDto.bookId())).thenReturn(book);
-        Mockito.when(shoppingCartRepository.findById(user.getId())).thenReturn(Optional.empty());
-        Mockito.when(userRepository.getReferenceById(user.getId())).thenReturn(user);
-        Mockito.when(userRepository.findUserByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-
-        ShoppingCart shoppingCart = new ShoppingCart();
-        ShoppingCart savedShoppingCart = getDefaultShoppingCart(user);
-        Mockito.when(shoppingCartRepository.save(shoppingCart)).thenReturn(savedShoppingCart);
-        Mockito.when(authentication.getName()).thenReturn(user.getEmail());
-
-        ShoppingCartDto expected = new ShoppingCartDto(
-                user.getId(),
-                user.getId(),
-                Set.of(cartItemDto));
-        //when
-        ShoppingCartDto actual = shoppingCartService.addCartItem(requestDto, authentication);
-
-        //then
-        assertEquals(expected, actual);
-        verify(shoppingCartRepository, Mockito.times(1))
-                .save(shoppingCart);
-    }
-
-    @Test
-    @DisplayName("""
-            Check adding existing cart item to shopping cart
-            and if shopping cart dto is returned""")
-    void addCartItem_ExistingCartItem_ReturnsShoppingCartDto() {
+    @DisplayName("Check if cart item is added after the cart summary and cart dto is returned")
+    void addCartItem_ValidBookId_ReturnsShoppingCartDto() {
         //given
         var requestDto = new CreateCartItemRequestDto(1L, 2);
         User user = getDefaultUser();
         CartItem cartItem = new CartItem();
         cartItem.setId(1L);
         cartItem.setQuantity(requestDto.quantity());
-
+        cartItem.setBook(getDefaultBook());
         ShoppingCart shoppingCart = getDefaultShoppingCart(user);
         shoppingCart.setCartItems(Set.of(cartItem));
-        cartItem.setShoppingCart(shoppingCart);
 
-        Mockito.when(bookRepository.existsById(requestDto.bookId())).thenReturn(true);
-        Mockito.when(cartItemRepository
-                        .findCartItemByShoppingCartIdAndBookId(user.getId(), requestDto.bookId()))
-                .thenReturn(Optional.of(cartItem));
-        Mockito.when(cartItemRepository.findByIdAndShoppingCartId(cartItem.getId(), user.getId()))
-                .thenReturn(Optional.of(cartItem));
-        Mockito.when(userRepository.findUserByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        Mockito.when(authentication.getName()).thenReturn(user.getEmail());
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
+        Mockito.when(shoppingCartRepository.addBookToSummary(user.getId(),
+                requestDto.bookId(), requestDto.quantity())).thenReturn(1);
+        Mockito.when(shoppingCartRepository.findById(user.getId()))
+                .thenReturn(Optional.of(shoppingCart));
 
-        CartItemDto cartItemDto = new CartItemDto(1L, null, requestDto.quantity());
-        ShoppingCartDto expected = new ShoppingCartDto(shoppingCart.getId(),
-                shoppingCart.getId(),
-                Set.of(cartItemDto));
         //when
         ShoppingCartDto actual = shoppingCartService.addCartItem(requestDto, authentication);
 
         //then
+        ShoppingCartDto expected = new ShoppingCartDto(user.getId(), user.getId(),
+                Set.of(new CartItemDto(1L, null, 2)));
         assertEquals(expected, actual);
+        InOrder inOrder = Mockito.inOrder(shoppingCartRepository, cartItemRepository);
+        inOrder.verify(shoppingCartRepository).addBookToSummary(user.getId(),
+                requestDto.bookId(), requestDto.quantity());
+        inOrder.verify(cartItemRepository).upsert(user.getId(), requestDto.bookId(),
+                requestDto.quantity());
     }
 
     @Test
@@ -133,7 +96,10 @@ public class ShoppingCartServiceTest {
     void addCartItem_InvalidBookId_ThrowsException() {
         //given
         var requestDto = new CreateCartItemRequestDto(100L, 2);
-        Mockito.when(bookRepository.existsById(requestDto.bookId())).thenReturn(false);
+        User user = getDefaultUser();
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
+        Mockito.when(shoppingCartRepository.addBookToSummary(user.getId(),
+                requestDto.bookId(), requestDto.quantity())).thenReturn(0);
 
         //when
         EntityNotFoundException exception = assertThrows(
@@ -145,6 +111,8 @@ public class ShoppingCartServiceTest {
         String expected = "Can't find book by id " + requestDto.bookId();
         String actual = exception.getMessage();
         assertEquals(expected, actual);
+        verify(cartItemRepository, Mockito.never()).upsert(user.getId(), requestDto.bookId(),
+                requestDto.quantity());
     }
 
     @Test
@@ -156,9 +124,7 @@ public class ShoppingCartServiceTest {
 
         Mockito.when(shoppingCartRepository.findById(user.getId()))
                 .thenReturn(Optional.of(shoppingCart));
-        Mockito.when(userRepository.findUserByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        Mockito.when(authentication.getName()).thenReturn(user.getEmail());
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
 
         ShoppingCartDto expected = new ShoppingCartDto(shoppingCart.getId(),
                 shoppingCart.getId(),
@@ -179,16 +145,18 @@ public class ShoppingCartServiceTest {
         CartItem cartItem = new CartItem();
         cartItem.setId(1L);
         cartItem.setQuantity(2);
+        cartItem.setBook(getDefaultBook());
         ShoppingCart shoppingCart = getDefaultShoppingCart(user);
         cartItem.setShoppingCart(shoppingCart);
         shoppingCart.setCartItems(Set.of(cartItem));
         CartItemDto cartItemDto = new CartItemDto(1L, null, 3);
 
-        Mockito.when(cartItemRepository.findByIdAndShoppingCartId(cartItem.getId(), user.getId()))
+        Mockito.when(shoppingCartRepository.findById(user.getId()))
+                .thenReturn(Optional.of(shoppingCart));
+        Mockito.when(cartItemRepository
+                .findByIdAndShoppingCartIdForUpdate(cartItem.getId(), user.getId()))
                 .thenReturn(Optional.of(cartItem));
-        Mockito.when(userRepository.findUserByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        Mockito.when(authentication.getName()).thenReturn(user.getEmail());
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
 
         ShoppingCartDto expected = new ShoppingCartDto(
                 user.getId(),
@@ -201,6 +169,8 @@ public class ShoppingCartServiceTest {
 
         //then
         assertEquals(expected, actual);
+        verify(shoppingCartRepository).addToSummary(user.getId(), 0, 1,
+                new BigDecimal("10.00"));
     }
 
     @Test
@@ -210,15 +180,16 @@ public class ShoppingCartServiceTest {
         User user = getDefaultUser();
         CartItem cartItem = new CartItem();
         cartItem.setId(1L);
+        cartItem.setQuantity(2);
+        cartItem.setBook(getDefaultBook());
         ShoppingCart shoppingCart = getDefaultShoppingCart(user);
         shoppingCart.setCartItems(new HashSet<>(Set.of(cartItem)));
         Mockito.when(shoppingCartRepository.findById(user.getId()))
                 .thenReturn(Optional.of(shoppingCart));
-        Mockito.when(cartItemRepository.findByIdAndShoppingCartId(cartItem.getId(), user.getId()))
+        Mockito.when(cartItemRepository
+                .findByIdAndShoppingCartIdForUpdate(cartItem.getId(), user.getId()))
                 .thenReturn(Optional.of(cartItem));
-        Mockito.when(userRepository.findUserByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        Mockito.when(authentication.getName()).thenReturn(user.getEmail());
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
         ShoppingCartDto expected = new ShoppingCartDto(user.getId(), user.getId(), Set.of());
 
         //when
@@ -227,6 +198,108 @@ public class ShoppingCartServiceTest {
 
         //then
         assertEquals(expected, actual);
+        verify(shoppingCartRepository).addToSummary(user.getId(), -1, -2,
+                new BigDecimal("-20.00"));
+    }
+
+    @Test
+    @DisplayName("Check if shopping cart summary is read without loading the cart")
+    void getShoppingCartSummary_ExistingCart_ReturnsSummary() {
+        //given
+        User user = getDefaultUser();
+        ShoppingCartSummaryDto expected = new ShoppingCartSummaryDto(user.getId(), 2, 5,
+                BigDecimal.valueOf(50));
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
+        Mockito.when(shoppingCartRepository.findSummaryById(user.getId()))
+                .thenReturn(Optional.of(expected));
+
+        //when
+        ShoppingCartSummaryDto actual = shoppingCartService
+                .getShoppingCartSummary(authentication);
+
+        //then
+        assertEquals(expected, actual);
+        verify(shoppingCartRepository, Mockito.never()).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Check if summary of a missing shopping cart is empty")
+    void getShoppingCartSummary_NoCart_ReturnsEmptySummary() {
+        //given
+        User user = getDefaultUser();
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
+        Mockito.when(shoppingCartRepository.findSummaryById(user.getId()))
+                .thenReturn(Optional.empty());
+
+        //when
+        ShoppingCartSummaryDto actual = shoppingCartService
+                .getShoppingCartSummary(authentication);
+
+        //then
+        assertEquals(new ShoppingCartSummaryDto(user.getId(), 0, 0, BigDecimal.ZERO), actual);
+    }
+
+    @Test
+    @DisplayName("Check if batch operations are folded per book and applied once")
+    void applyCartItemOperations_MixedOperations_ReturnsFinalShoppingCart() {
+        //given
+        User user = getDefaultUser();
+        CartItem cartItem = new CartItem();
+        cartItem.setId(1L);
+        cartItem.setQuantity(2);
+        cartItem.setBook(getDefaultBook());
+        ShoppingCart shoppingCart = getDefaultShoppingCart(user);
+        shoppingCart.setCartItems(new HashSet<>(Set.of(cartItem)));
+        Book newBook = getDefaultBook();
+        newBook.setId(2L);
+        List<CartItemOperationDto> operations = List.of(
+                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 1L, 3),
+                new CartItemOperationDto(CartItemOperationDto.Type.SET_QUANTITY, 2L, 4),
+                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 3L, 1),
+                new CartItemOperationDto(CartItemOperationDto.Type.REMOVE, 3L, null));
+
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
+        Mockito.when(shoppingCartRepository.findById(user.getId()))
+                .thenReturn(Optional.of(shoppingCart));
+        Mockito.when(bookRepository.findAllById(List.of(2L))).thenReturn(List.of(newBook));
+
+        ShoppingCartDto expected = new ShoppingCartDto(user.getId(), user.getId(),
+                Set.of(new CartItemDto(1L, null, 5), new CartItemDto(null, null, 4)));
+
+        //when
+        ShoppingCartDto actual = shoppingCartService
+                .applyCartItemOperations(authentication, operations);
+
+        //then
+        assertEquals(expected, actual);
+        verify(shoppingCartRepository).createIfAbsent(user.getId());
+        verify(bookRepository, Mockito.times(1)).findAllById(List.of(2L));
+        verify(shoppingCartRepository, Mockito.times(1)).recalculateSummary(user.getId());
+    }
+
+    @Test
+    @DisplayName("Check if batch with missing books is rejected")
+    void applyCartItemOperations_MissingBook_ThrowsException() {
+        //given
+        User user = getDefaultUser();
+        List<CartItemOperationDto> operations = List.of(
+                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 1L, 1),
+                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 7L, 1));
+        Mockito.when(authentication.getPrincipal()).thenReturn(user);
+        Mockito.when(shoppingCartRepository.findById(user.getId()))
+                .thenReturn(Optional.of(getDefaultShoppingCart(user)));
+        Mockito.when(bookRepository.findAllById(List.of(1L, 7L)))
+                .thenReturn(List.of(getDefaultBook()));
+
+        //when
+        EntityNotFoundException exception = assertThrows(
+                EntityNotFoundException.class,
+                () -> shoppingCartService.applyCartItemOperations(authentication, operations)
+        );
+
+        //then
+        assertEquals("Can't find books by ids [7]", exception.getMessage());
+        verify(shoppingCartRepository, Mockito.never()).recalculateSummary(user.getId());
     }
 
     private User getDefaultUser() {
@@ -236,6 +309,13 @@ public class ShoppingCartServiceTest {
         return user;
     }
 
+    private Book getDefaultBook() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setPrice(BigDecimal.TEN);
+        return book;
+    }
+
     private ShoppingCart getDefaultShoppingCart(User user) {
         ShoppingCart shoppingCart = new ShoppingCart();
         shoppingCart.setId(user.getId());
@@ -30,13 +30,13 @@ public class CartItemRepositoryTest {
 
     @Test
     @DisplayName("Check if cart item is returned by id")
-    void findByIdAndShoppingCartId_ValidId_ReturnsCartItem() {
+    void findByIdAndShoppingCartIdForUpdate_ValidId_ReturnsCartItem() {
         //given
         CartItem expected = new CartItem();
         expected.setId(1L);
         expected.setQuantity(5);
         //when
-        Optional<CartItem> actual = cartItemRepository.findByIdAndShoppingCartId(1L, 1L);
+        Optional<CartItem> actual = cartItemRepository.findByIdAndShoppingCartIdForUpdate(1L, 1L);
         //then
         Assertions.assertTrue(actual.isPresent());
         Assertions.assertEquals(expected, actual.get());
@@ -1,5 +1,6 @@
 package book.store.onlinebookstore.user;
 
+import static book.store.onlinebookstore.metrics.SqlStatementBudgets.sqlStatementBudgets;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -40,6 +41,7 @@ public class AuthenticationControllerTest {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(applicationContext)
                 .apply(springSecurity())
+                .apply(sqlStatementBudgets())
                 .build();
     }
 
@@ -0,0 +1,97 @@
+package book.store.onlinebookstore.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import book.store.onlinebookstore.model.Role;
+import book.store.onlinebookstore.model.User;
+import book.store.onlinebookstore.security.JwtUtil;
+import book.store.onlinebookstore.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtUtilTest {
+    private static final String SECRET = "testSecretfsdgsvssdfgfvhdsvuh98ewhvjdshfvsfgsg";
+    private static final String DEFAULT_USERNAME = "email@gmail.com";
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 100);
+        ReflectionTestUtils.setField(jwtUtil, "expirationMinutes", 30);
+        ReflectionTestUtils.setField(jwtUtil, "expirationHours", 0);
+    }
+
+    @Test
+    @DisplayName("Check if repeated token is verified once and served from cache")
+    void verify_SameTokenTwice_ReturnsCachedToken() {
+        //given
+        String token = jwtUtil.generateToken(DEFAULT_USERNAME);
+
+        //when
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        //then
+        assertEquals(DEFAULT_USERNAME, first.subject());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Check if the cached token shared by requests can't be modified")
+    void verify_TokenWithRoles_ReturnsUnmodifiableRoles() {
+        //given
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(DEFAULT_USERNAME);
+        Role role = new Role();
+        role.setName(Role.RoleName.USER);
+        user.getRoles().add(role);
+
+        //when
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken(user));
+
+        //then
+        assertEquals(1L, token.userId());
+        assertEquals(List.of("USER"), token.roles());
+        assertThrows(UnsupportedOperationException.class, () -> token.roles().add("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Check if token with a changed signature is rejected")
+    void verify_TamperedToken_ThrowsException() {
+        //given
+        String token = jwtUtil.generateToken(DEFAULT_USERNAME);
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        //when
+        //then
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    @DisplayName("Check if expired token is rejected")
+    void verify_ExpiredToken_ThrowsException() {
+        //given
+        String token = Jwts.builder()
+                .setSubject(DEFAULT_USERNAME)
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        //when
+        //then
+        assertThrows(JwtException.class, () -> jwtUtil.verify(token));
+    }
+}
@@ -0,0 +1,127 @@
+package book.store.onlinebookstore.user;
+
+import static book.store.onlinebookstore.metrics.SqlStatementBudgets.sqlStatementBudgets;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import book.store.onlinebookstore.dto.user.UpdateUserRolesRequestDto;
+import book.store.onlinebookstore.dto.user.UserLoginRequestDto;
+import book.store.onlinebookstore.dto.user.UserLoginResponseDto;
+import book.store.onlinebookstore.dto.user.UserRolesDto;
+import book.store.onlinebookstore.model.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Set;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class UserControllerTest {
+    private static MockMvc mockMvc;
+    private static final String DEFAULT_USERNAME = "email@gmail.com";
+    private static final String DEFAULT_PASSWORD = "12345678";
+    private static final Long DEFAULT_USER_ID = 1L;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .apply(sqlStatementBudgets())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Check if the next request after a role change sees the new authorities")
+    @Sql(scripts = {
+            "classpath:database.scripts/user/add-user-with-encr-pass.sql",
+            "classpath:database.scripts/user/add-user-roles.sql"
+    }, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/user/delete-user-roles.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void updateRoles_GrantAdmin_NextRequestHasAdminAuthority() {
+        //given
+        String bearer = "Bearer " + login();
+        mockMvc.perform(get("/api/books/cache-stats")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        var requestDto = new UpdateUserRolesRequestDto(
+                Set.of(Role.RoleName.USER, Role.RoleName.ADMIN));
+
+        //when
+        MvcResult result = mockMvc.perform(put("/api/users/{id}/roles", DEFAULT_USER_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        var actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                UserRolesDto.class);
+        Assertions.assertEquals(requestDto.roles(), actual.roles());
+        mockMvc.perform(get("/api/books/cache-stats")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Check if revoking a role takes the authority away on the next request")
+    @Sql(scripts = {
+            "classpath:database.scripts/user/add-user-with-encr-pass.sql",
+            "classpath:database.scripts/user/add-user-roles.sql"
+    }, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database.scripts/user/delete-user-roles.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @SneakyThrows
+    void updateRoles_RevokeUser_NextRequestIsForbidden() {
+        //given
+        String bearer = "Bearer " + login();
+        mockMvc.perform(get("/api/categories")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        var requestDto = new UpdateUserRolesRequestDto(Set.of(Role.RoleName.ADMIN));
+
+        //when
+        mockMvc.perform(put("/api/users/{id}/roles", DEFAULT_USER_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        //then
+        mockMvc.perform(get("/api/categories")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+    }
+
+    @SneakyThrows
+    private String login() {
+        var requestDto = new UserLoginRequestDto(DEFAULT_USERNAME, DEFAULT_PASSWORD);
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                UserLoginResponseDto.class).token();
+    }
+}
@@ -0,0 +1,106 @@
+package book.store.onlinebookstore.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.onlinebookstore.model.Role;
+import book.store.onlinebookstore.model.User;
+import book.store.onlinebookstore.repository.user.UserRepository;
+import book.store.onlinebookstore.security.JwtUtil;
+import book.store.onlinebookstore.security.UserPrincipalCache;
+import book.store.onlinebookstore.security.VerifiedToken;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPrincipalCacheTest {
+    private static final String SECRET = "testSecretfsdgsvssdfgfvhdsvuh98ewhvjdshfvsfgsg";
+    private static final String DEFAULT_USERNAME = "email@gmail.com";
+    @Mock
+    private UserRepository userRepository;
+    private JwtUtil jwtUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 100);
+        ReflectionTestUtils.setField(jwtUtil, "expirationMinutes", 30);
+        Role role = new Role();
+        role.setId(1L);
+        role.setName(Role.RoleName.USER);
+        user = new User();
+        user.setId(1L);
+        user.setEmail(DEFAULT_USERNAME);
+        user.getRoles().add(role);
+    }
+
+    @Test
+    @DisplayName("Check if principal is loaded from database once and then cached")
+    void getPrincipal_RepeatedRequests_LoadsUserOnce() {
+        //given
+        UserPrincipalCache principalCache = new UserPrincipalCache(userRepository, false,
+                100, Duration.ofMinutes(5));
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken(DEFAULT_USERNAME));
+        when(userRepository.findUserByEmail(DEFAULT_USERNAME)).thenReturn(Optional.of(user));
+
+        //when
+        User first = principalCache.getPrincipal(token);
+        User second = principalCache.getPrincipal(token);
+
+        //then
+        assertEquals(1L, first.getId());
+        assertEquals(Set.of("ROLE_USER"),
+                AuthorityUtils.authorityListToSet(second.getAuthorities()));
+        verify(userRepository, times(1)).findUserByEmail(DEFAULT_USERNAME);
+    }
+
+    @Test
+    @DisplayName("Check if evicted principal is loaded again")
+    void evict_CachedPrincipal_ReloadsUser() {
+        //given
+        UserPrincipalCache principalCache = new UserPrincipalCache(userRepository, false,
+                100, Duration.ofMinutes(5));
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken(DEFAULT_USERNAME));
+        when(userRepository.findUserByEmail(DEFAULT_USERNAME)).thenReturn(Optional.of(user));
+        principalCache.getPrincipal(token);
+
+        //when
+        principalCache.evict(DEFAULT_USERNAME);
+        principalCache.getPrincipal(token);
+
+        //then
+        verify(userRepository, times(2)).findUserByEmail(DEFAULT_USERNAME);
+    }
+
+    @Test
+    @DisplayName("Check if principal is built from token claims without database access")
+    void getPrincipal_FromTokenClaims_DoesNotQueryDatabase() {
+        //given
+        UserPrincipalCache principalCache = new UserPrincipalCache(userRepository, true,
+                100, Duration.ofMinutes(5));
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken(user));
+
+        //when
+        User actual = principalCache.getPrincipal(token);
+
+        //then
+        assertEquals(1L, actual.getId());
+        assertEquals(DEFAULT_USERNAME, actual.getUsername());
+        assertEquals(Set.of("ROLE_USER"),
+                AuthorityUtils.authorityListToSet(actual.getAuthorities()));
+        verify(userRepository, never()).findUserByEmail(anyString());
+    }
+}
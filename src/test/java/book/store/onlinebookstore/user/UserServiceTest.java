@@ -3,8 +3,11 @@ package book.store.onlinebookstore.user;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import book.store.onlinebookstore.dto.user.UpdateUserRolesRequestDto;
 import book.store.onlinebookstore.dto.user.UserRegistrationRequestDto;
 import book.store.onlinebookstore.dto.user.UserRegistrationResponseDto;
+import book.store.onlinebookstore.dto.user.UserRolesDto;
+import book.store.onlinebookstore.exception.EntityNotFoundException;
 import book.store.onlinebookstore.exception.UserRegistrationException;
 import book.store.onlinebookstore.mapper.UserMapper;
 import book.store.onlinebookstore.mapper.UserMapperImpl;
@@ -12,8 +15,11 @@ import book.store.onlinebookstore.model.Role;
 import book.store.onlinebookstore.model.User;
 import book.store.onlinebookstore.repository.role.RoleRepository;
 import book.store.onlinebookstore.repository.user.UserRepository;
+import book.store.onlinebookstore.security.UserPrincipalCache;
 import book.store.onlinebookstore.service.impl.UserServiceImpl;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import lombok.SneakyThrows;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -38,6 +44,8 @@ public class UserServiceTest {
     private PasswordEncoder passwordEncoder;
     @Spy
     private UserMapper userMapper = new UserMapperImpl();
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -93,6 +101,55 @@ public class UserServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @DisplayName("Check if updating roles replaces them and evicts the cached principal")
+    void updateRoles_ValidRoles_ReplacesRolesAndEvictsPrincipal() {
+        //given
+        Role userRole = getRole(1L, Role.RoleName.USER);
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(DEFAULT_USERNAME);
+        user.getRoles().add(userRole);
+        var requestDto = new UpdateUserRolesRequestDto(Set.of(Role.RoleName.ADMIN));
+        Mockito.when(userRepository.findUserById(user.getId())).thenReturn(Optional.of(user));
+        Role adminRole = getRole(2L, Role.RoleName.ADMIN);
+        Mockito.when(roleRepository.findAllByNameIn(requestDto.roles()))
+                .thenReturn(List.of(adminRole));
+
+        //when
+        UserRolesDto actual = userService.updateRoles(user.getId(), requestDto);
+
+        //then
+        assertEquals(new UserRolesDto(1L, DEFAULT_USERNAME, Set.of(Role.RoleName.ADMIN)), actual);
+        assertEquals(Set.of(adminRole), user.getRoles());
+        Mockito.verify(userPrincipalCache).evictAfterCommit(DEFAULT_USERNAME);
+    }
+
+    @Test
+    @DisplayName("Check if updating roles of a missing user throws exception")
+    void updateRoles_InvalidUserId_ThrowsException() {
+        //given
+        var requestDto = new UpdateUserRolesRequestDto(Set.of(Role.RoleName.ADMIN));
+        Mockito.when(userRepository.findUserById(100L)).thenReturn(Optional.empty());
+
+        //when
+        EntityNotFoundException exception = assertThrows(
+                EntityNotFoundException.class,
+                () -> userService.updateRoles(100L, requestDto)
+        );
+
+        //then
+        assertEquals("Can't find user by id 100", exception.getMessage());
+        Mockito.verifyNoInteractions(userPrincipalCache);
+    }
+
+    private static Role getRole(Long id, Role.RoleName name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+
     private static UserRegistrationRequestDto getDefaultUserRegistrationRequestDto() {
         return new UserRegistrationRequestDto(
                 DEFAULT_USERNAME,
@@ -0,0 +1,5 @@
+insert into orders (id, user_id, status, total, order_date, shipping_address)
+values (204, 1, 'DELIVERED', 201.98, '2024-01-01 12:00:00', 'address');
+
+insert into order_items (id, order_id, book_id, quantity, price)
+values (205, 204, 1, 2, 201.98);
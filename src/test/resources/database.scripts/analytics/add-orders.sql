@@ -0,0 +1,15 @@
+insert into orders (id, user_id, status, total, order_date, shipping_address)
+values (201, 1, 'DELIVERED', 301.98, '2024-01-01 10:00:00', 'address');
+insert into orders (id, user_id, status, total, order_date, shipping_address)
+values (202, 1, 'SHIPPED', 401.98, '2024-01-01 18:30:00', 'address');
+insert into orders (id, user_id, status, total, order_date, shipping_address)
+values (203, 1, 'PENDING', 902.97, '2024-01-02 09:15:00', 'address');
+
+insert into order_items (id, order_id, book_id, quantity, price)
+values (201, 201, 1, 1, 100.99);
+insert into order_items (id, order_id, book_id, quantity, price)
+values (202, 201, 2, 1, 200.99);
+insert into order_items (id, order_id, book_id, quantity, price)
+values (203, 202, 2, 2, 401.98);
+insert into order_items (id, order_id, book_id, quantity, price)
+values (204, 203, 3, 3, 902.97);
@@ -0,0 +1,11 @@
+delete
+from sales_daily;
+delete
+from sales_book_daily;
+delete
+from sales_category_daily;
+delete
+from sales_author_daily;
+update sales_rollup_watermarks
+set processed_seq = 0
+where name = 'orders';
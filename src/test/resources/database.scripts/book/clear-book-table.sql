@@ -1,2 +1,4 @@
 delete
+from books_categories;
+delete
 from books;
@@ -0,0 +1,6 @@
+insert into book_stock (book_id, quantity)
+values (1, 20);
+insert into book_stock (book_id, quantity)
+values (2, 20);
+insert into book_stock (book_id, quantity)
+values (3, 20);
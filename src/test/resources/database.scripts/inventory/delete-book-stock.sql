@@ -0,0 +1,2 @@
+delete
+from book_stock;
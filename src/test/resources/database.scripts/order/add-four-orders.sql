@@ -0,0 +1,14 @@
+insert into orders (id, user_id, status, total, order_date, shipping_address, is_deleted)
+values (101, 1, 'PENDING', 10.00, '2024-01-01 10:00:00', 'address', false);
+insert into orders (id, user_id, status, total, order_date, shipping_address, is_deleted)
+values (102, 1, 'PROCESSING', 20.00, '2024-01-02 10:00:00', 'address', false);
+insert into orders (id, user_id, status, total, order_date, shipping_address, is_deleted)
+values (103, 1, 'PROCESSING', 30.00, '2024-01-03 10:00:00', 'address', false);
+insert into orders (id, user_id, status, total, order_date, shipping_address, is_deleted)
+values (104, 1, 'DELIVERED', 40.00, '2024-01-04 10:00:00', 'address', true);
+insert into order_summary (user_id, order_id, order_date, status, total, item_count)
+values (1, 101, '2024-01-01 10:00:00', 'PENDING', 10.00, 0);
+insert into order_summary (user_id, order_id, order_date, status, total, item_count)
+values (1, 102, '2024-01-02 10:00:00', 'PROCESSING', 20.00, 0);
+insert into order_summary (user_id, order_id, order_date, status, total, item_count)
+values (1, 103, '2024-01-03 10:00:00', 'PROCESSING', 30.00, 0);
@@ -0,0 +1,10 @@
+delete
+from order_idempotency_keys;
+delete
+from order_summary;
+delete
+from order_items;
+delete
+from orders;
+delete
+from order_outbox;
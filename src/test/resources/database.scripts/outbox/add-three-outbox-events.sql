@@ -0,0 +1,6 @@
+insert into order_outbox (id, order_id, event_type, payload, attempts, created_at, next_attempt_at)
+values (1, 1, 'ORDER_PLACED', '{}', 0, '2024-01-01 10:00:00', '2024-01-01 10:00:00');
+insert into order_outbox (id, order_id, event_type, payload, attempts, created_at, next_attempt_at)
+values (2, 2, 'ORDER_PLACED', '{}', 0, '2024-01-01 10:00:01', '2024-01-01 10:00:01');
+insert into order_outbox (id, order_id, event_type, payload, attempts, created_at, next_attempt_at)
+values (3, 3, 'ORDER_PLACED', '{}', 0, '2024-01-01 10:00:02', '2024-01-01 10:00:02');
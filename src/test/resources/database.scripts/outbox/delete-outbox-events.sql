@@ -0,0 +1,2 @@
+delete
+from order_outbox;
@@ -0,0 +1,5 @@
+insert into roles (id, name)
+values (1, "USER"),
+       (2, "ADMIN");
+insert into users_roles (user_id, role_id)
+values (1, 1);
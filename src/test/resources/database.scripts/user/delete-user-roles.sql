@@ -0,0 +1,6 @@
+delete
+from users_roles;
+delete
+from users;
+delete
+from roles;